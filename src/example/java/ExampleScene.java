@@ -3,10 +3,12 @@ import net.raphimc.softwarerenderer.data.ImageBuffer;
 import net.raphimc.softwarerenderer.enums.CullFace;
 import net.raphimc.softwarerenderer.primitives.Quad;
 import net.raphimc.softwarerenderer.swing.SoftwareRendererCanvas;
+import net.raphimc.softwarerenderer.text.GlyphAtlas;
 import net.raphimc.softwarerenderer.vertex.FloatVertex;
 import org.joml.Vector3f;
 
 import javax.imageio.ImageIO;
+import java.awt.*;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,14 +16,16 @@ import java.util.List;
 public class ExampleScene extends SoftwareRendererCanvas<PerspectiveSoftwareRenderer> {
 
     private final ImageBuffer textureBuffer;
+    private final GlyphAtlas glyphAtlas;
 
     public ExampleScene() {
         super((width, height) -> new PerspectiveSoftwareRenderer(width, height, 90F));
         try {
-            this.textureBuffer = new ImageBuffer(ImageIO.read(this.getClass().getResourceAsStream("stone.png")));
+            this.textureBuffer = new ImageBuffer(ImageIO.read(this.getClass().getResourceAsStream("stone.png"))).withMipmaps();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        this.glyphAtlas = new GlyphAtlas(new Font(Font.DIALOG, Font.PLAIN, 12));
     }
 
     @Override
@@ -47,10 +51,10 @@ public class ExampleScene extends SoftwareRendererCanvas<PerspectiveSoftwareRend
         renderer.setCullFace(CullFace.NONE);
         renderer.setDepthEnabled(false);
 
-        final float fps = 1000F / this.frameTime;
-        renderer.getGraphics2D().drawString("FPS: " + fps, 10, 20);
-        renderer.getGraphics2D().drawString("Frame time: " + this.frameTime + "ms", 10, 40);
-        renderer.getGraphics2D().drawString("Quads: " + renderedQuads, 10, 60);
+        final float fps = this.getFrameStats().getFps();
+        renderer.draw2DString(this.glyphAtlas, "FPS: " + fps, 10, 20, 0xFFFFFFFF);
+        renderer.draw2DString(this.glyphAtlas, "Frame time: " + this.frameTime + "ms", 10, 40, 0xFFFFFFFF);
+        renderer.draw2DString(this.glyphAtlas, "Quads: " + renderedQuads, 10, 60, 0xFFFFFFFF);
     }
 
     public static void box(final List<Quad> quads, final Vector3f pos1, final Vector3f pos2, final ImageBuffer texture) {
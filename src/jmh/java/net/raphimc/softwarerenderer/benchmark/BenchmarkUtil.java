@@ -0,0 +1,75 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.benchmark;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.primitives.Quad;
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import net.raphimc.softwarerenderer.vertex.FloatVertex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BenchmarkUtil {
+
+    public static ImageBuffer createTexture(final int width, final int height, final boolean translucent) {
+        final Random random = new Random(width * 31L + height);
+        final int[] raster = new int[width * height];
+        for (int i = 0; i < raster.length; i++) {
+            final int alpha = translucent ? random.nextInt(256) : 0xFF;
+            raster[i] = ColorMixer.premultiply((alpha << 24) | (random.nextInt() & 0xFFFFFF));
+        }
+        return new ImageBuffer(raster, width, height);
+    }
+
+    public static List<Quad> createBoxGrid(final int size, final ImageBuffer texture) {
+        final List<Quad> quads = new ArrayList<>(size * size * size * 6);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    final float minX = (x - size / 2F) * 2.5F;
+                    final float minY = (y - size / 2F) * 2.5F;
+                    final float minZ = (z - size / 2F) * 2.5F;
+                    box(quads, minX, minY, minZ, minX + 2F, minY + 2F, minZ + 2F, texture);
+                }
+            }
+        }
+        return quads;
+    }
+
+    public static void box(final List<Quad> quads, final float minX, final float minY, final float minZ, final float maxX, final float maxY, final float maxZ, final ImageBuffer texture) {
+        texturedRectangle(quads, minX, minY, minZ, maxX, minY, minZ, maxX, minY, maxZ, minX, minY, maxZ, texture);
+        texturedRectangle(quads, maxX, maxY, maxZ, maxX, maxY, minZ, minX, maxY, minZ, minX, maxY, maxZ, texture);
+        texturedRectangle(quads, maxX, maxY, minZ, maxX, minY, minZ, minX, minY, minZ, minX, maxY, minZ, texture);
+        texturedRectangle(quads, minX, minY, maxZ, maxX, minY, maxZ, maxX, maxY, maxZ, minX, maxY, maxZ, texture);
+        texturedRectangle(quads, minX, minY, minZ, minX, minY, maxZ, minX, maxY, maxZ, minX, maxY, minZ, texture);
+        texturedRectangle(quads, maxX, maxY, maxZ, maxX, minY, maxZ, maxX, minY, minZ, maxX, maxY, minZ, texture);
+    }
+
+    private static void texturedRectangle(final List<Quad> quads, final float xbl, final float ybl, final float zbl, final float xbr, final float ybr, final float zbr, final float xtr, final float ytr, final float ztr, final float xtl, final float ytl, final float ztl, final ImageBuffer texture) {
+        quads.add(new Quad(
+                new FloatVertex(xbl, ybl, zbl, 0xFFFFFFFF, 0F, 1F),
+                new FloatVertex(xbr, ybr, zbr, 0xFFFFFFFF, 1F, 1F),
+                new FloatVertex(xtr, ytr, ztr, 0xFFFFFFFF, 1F, 0F),
+                new FloatVertex(xtl, ytl, ztl, 0xFFFFFFFF, 0F, 0F),
+                texture
+        ));
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.benchmark;
+
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorMixerBenchmark {
+
+    private static final int COLOR_COUNT = 4096;
+
+    private int[] sourceColors;
+    private int[] destinationColors;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        this.sourceColors = new int[COLOR_COUNT];
+        this.destinationColors = new int[COLOR_COUNT];
+        for (int i = 0; i < COLOR_COUNT; i++) {
+            this.sourceColors[i] = ColorMixer.premultiply(random.nextInt());
+            this.destinationColors[i] = ColorMixer.premultiply(random.nextInt());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLOR_COUNT)
+    public void mix(final Blackhole blackhole) {
+        for (int i = 0; i < COLOR_COUNT; i++) {
+            blackhole.consume(ColorMixer.mix(this.destinationColors[i], this.sourceColors[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLOR_COUNT)
+    public void blend(final Blackhole blackhole) {
+        for (int i = 0; i < COLOR_COUNT; i++) {
+            blackhole.consume(ColorMixer.blend(this.destinationColors[i], this.sourceColors[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLOR_COUNT)
+    public int[] mixSpan() {
+        ColorMixer.mix(this.destinationColors, 0, COLOR_COUNT, this.sourceColors[0]);
+        return this.destinationColors;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLOR_COUNT)
+    public int[] blendSpan() {
+        ColorMixer.blend(this.destinationColors, 0, COLOR_COUNT, this.sourceColors[0]);
+        return this.destinationColors;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.benchmark;
+
+import net.raphimc.softwarerenderer.PerspectiveSoftwareRenderer;
+import net.raphimc.softwarerenderer.enums.CullFace;
+import net.raphimc.softwarerenderer.primitives.Quad;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameBenchmark {
+
+    @Param({"1280x720", "1920x1080"})
+    public String resolution;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private PerspectiveSoftwareRenderer renderer;
+    private List<Quad> quads;
+    private float angle;
+
+    @Setup
+    public void setup() {
+        final String[] dimensions = this.resolution.split("x");
+        this.renderer = new PerspectiveSoftwareRenderer(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), 90F);
+        if (this.parallel) {
+            this.renderer.setParallel(ForkJoinPool.commonPool());
+        }
+        this.quads = BenchmarkUtil.createBoxGrid(6, BenchmarkUtil.createTexture(16, 16, false));
+    }
+
+    @Benchmark
+    public int draw3DPrimitives() {
+        this.renderer.clearColorBuffer();
+        this.renderer.clearDepthBuffer();
+        this.renderer.setDepthEnabled(true);
+        this.renderer.setCullFace(CullFace.BACK);
+        this.renderer.getModelViewMatrix().pushMatrix();
+        this.renderer.getModelViewMatrix().translate(0F, 0F, -20F);
+        this.renderer.getModelViewMatrix().rotateX(this.angle);
+        this.renderer.getModelViewMatrix().rotateY(this.angle * 0.7F);
+        final int renderedQuads = this.renderer.draw3DPrimitives(this.quads);
+        this.renderer.getModelViewMatrix().popMatrix();
+        this.angle += 0.01F;
+        return renderedQuads;
+    }
+
+}
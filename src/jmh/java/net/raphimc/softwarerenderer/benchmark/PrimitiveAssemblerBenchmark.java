@@ -0,0 +1,67 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.benchmark;
+
+import net.raphimc.softwarerenderer.primitives.Quad;
+import net.raphimc.softwarerenderer.primitives.Triangle;
+import net.raphimc.softwarerenderer.util.PrimitiveAssembler;
+import net.raphimc.softwarerenderer.vertex.FloatVertex;
+import net.raphimc.softwarerenderer.vertex.Vertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimitiveAssemblerBenchmark {
+
+    @Param({"1200", "120000"})
+    public int vertexCount;
+
+    private List<Vertex> vertices;
+
+    @Setup
+    public void setup() {
+        this.vertices = new ArrayList<>(this.vertexCount);
+        for (int i = 0; i < this.vertexCount; i++) {
+            this.vertices.add(new FloatVertex(i, i * 0.5F, i * 0.25F, 0xFFFFFFFF, 0F, 1F));
+        }
+    }
+
+    @Benchmark
+    public List<Triangle> assembleTriangles() {
+        return PrimitiveAssembler.assembleTriangles(this.vertices, null);
+    }
+
+    @Benchmark
+    public List<Quad> assembleQuads() {
+        return PrimitiveAssembler.assembleQuads(this.vertices, null);
+    }
+
+    @Benchmark
+    public List<Triangle> assembleTriangleStrip() {
+        return PrimitiveAssembler.assembleTriangleStrip(this.vertices, null);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.benchmark;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.rasterizer.RasterBackend;
+import net.raphimc.softwarerenderer.rasterizer.RasterBackends;
+import net.raphimc.softwarerenderer.rasterizer.TriangleRasterizer;
+import net.raphimc.softwarerenderer.vertex.RasterVertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TriangleRasterizerBenchmark {
+
+    private static final int WIDTH = 1024;
+    private static final int HEIGHT = 1024;
+
+    @Param({"SMALL", "LARGE", "SLIVER"})
+    public String shape;
+
+    @Param({"false", "true"})
+    public boolean textured;
+
+    @Param({"false", "true"})
+    public boolean depth;
+
+    @Param({"SCALAR", "VECTOR"})
+    public String backend;
+
+    private ImageBuffer colorBuffer;
+    private float[] depthBuffer;
+    private TriangleRasterizer rasterizer;
+
+    @Setup
+    public void setup() {
+        final RasterBackend rasterBackend = switch (this.backend) {
+            case "SCALAR" -> RasterBackends.SCALAR;
+            case "VECTOR" -> RasterBackends.VECTOR;
+            default -> throw new IllegalArgumentException("Unknown backend: " + this.backend);
+        };
+        if (rasterBackend == null) {
+            throw new IllegalStateException("The vector backend requires --add-modules jdk.incubator.vector");
+        }
+        RasterBackends.set(rasterBackend);
+        this.colorBuffer = new ImageBuffer(new int[WIDTH * HEIGHT], WIDTH, HEIGHT);
+        this.depthBuffer = this.depth ? new float[WIDTH * HEIGHT] : null;
+        final ImageBuffer texture = this.textured ? BenchmarkUtil.createTexture(64, 64, false) : null;
+        this.rasterizer = switch (this.shape) {
+            case "SMALL" -> new TriangleRasterizer(vertex(100.3F, 100.6F, 0F, 0F), vertex(116.7F, 104.2F, 1F, 0F), vertex(105.1F, 117.9F, 0F, 1F), texture);
+            case "LARGE" -> new TriangleRasterizer(vertex(12.5F, 8.25F, 0F, 0F), vertex(1010.75F, 40.5F, 1F, 0F), vertex(180.25F, 1015.5F, 0F, 1F), texture);
+            case "SLIVER" -> new TriangleRasterizer(vertex(3.5F, 5.25F, 0F, 0F), vertex(1020.25F, 1012.75F, 1F, 1F), vertex(8.75F, 7.5F, 0F, 1F), texture);
+            default -> throw new IllegalArgumentException("Unknown shape: " + this.shape);
+        };
+    }
+
+    // Clearing before every invocation would dominate the small shapes, so only the first invocation of an iteration passes the depth test and the depth runs measure the depth rejection
+    @Setup(Level.Iteration)
+    public void clearBuffers() {
+        if (this.depthBuffer != null) {
+            Arrays.fill(this.depthBuffer, Float.MAX_VALUE);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RasterBackends.set(RasterBackends.SCALAR);
+    }
+
+    @Benchmark
+    public void rasterize() {
+        this.rasterizer.rasterize(this.colorBuffer, this.depthBuffer, null);
+    }
+
+    private static RasterVertex vertex(final float x, final float y, final float u, final float v) {
+        return new RasterVertex(x, y, 0.5F, 1F, 0xFFFFFFFF, u, v);
+    }
+
+}
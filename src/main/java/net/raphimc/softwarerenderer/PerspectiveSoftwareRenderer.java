@@ -17,14 +17,25 @@
  */
 package net.raphimc.softwarerenderer;
 
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.PrimitiveType;
 import net.raphimc.softwarerenderer.primitives.Primitive;
+import net.raphimc.softwarerenderer.vertex.Mesh;
+import net.raphimc.softwarerenderer.vertex.Vertex;
+import net.raphimc.softwarerenderer.vertex.VertexBuffer;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Matrix4f;
 import org.joml.Matrix4fStack;
+import org.joml.Vector3f;
 
 import java.util.List;
 
 public class PerspectiveSoftwareRenderer extends SoftwareRenderer {
 
+    private static final float NEAR_PLANE = 0.01F;
+    private static final float FAR_PLANE = 512F;
+
+    private final float fov;
     private final Matrix4f screenSpaceMatrix;
     private final Matrix4f projectionMatrix;
     private final Matrix4fStack modelViewMatrix;
@@ -33,10 +44,19 @@ public class PerspectiveSoftwareRenderer extends SoftwareRenderer {
     public PerspectiveSoftwareRenderer(final int width, final int height, final float fov) {
         super(width, height);
 
+        this.fov = fov;
         this.screenSpaceMatrix = new Matrix4f().translate(0F, height, 0F).scale(width / 2F, -height / 2F, 1F).translate(1F, 1F, 0F);
-        this.projectionMatrix = new Matrix4f().setPerspective((float) Math.toRadians(fov), (float) width / height, 0.01F, 512F);
+        this.projectionMatrix = new Matrix4f().setPerspective((float) Math.toRadians(fov), (float) width / height, NEAR_PLANE, FAR_PLANE);
         this.modelViewMatrix = new Matrix4fStack(32);
         this.finalMatrix = new Matrix4f();
+        this.setNearClip(NEAR_PLANE);
+    }
+
+    @Override
+    public void resize(final int width, final int height) {
+        super.resize(width, height);
+        this.screenSpaceMatrix.identity().translate(0F, height, 0F).scale(width / 2F, -height / 2F, 1F).translate(1F, 1F, 0F);
+        this.projectionMatrix.setPerspective((float) Math.toRadians(this.fov), (float) width / height, NEAR_PLANE, FAR_PLANE);
     }
 
     public int draw3DPrimitives(final List<? extends Primitive> primitives) {
@@ -44,6 +64,31 @@ public class PerspectiveSoftwareRenderer extends SoftwareRenderer {
         return this.drawPrimitives(primitives, this.finalMatrix);
     }
 
+    public int draw3DVertexBuffer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        this.computeFinalMatrix();
+        return this.drawVertexBuffer(vertexBuffer, primitiveType, textureBuffer, this.finalMatrix);
+    }
+
+    public int draw3DMesh(final Mesh mesh) {
+        this.computeFinalMatrix();
+        return this.drawMesh(mesh, this.finalMatrix);
+    }
+
+    public int draw3DIndexedPrimitives(final List<? extends Vertex> vertices, final int[] indices, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        this.computeFinalMatrix();
+        return this.drawIndexedPrimitives(vertices, indices, primitiveType, textureBuffer, this.finalMatrix);
+    }
+
+    public int query3DPrimitives(final List<? extends Primitive> primitives) {
+        this.computeFinalMatrix();
+        return this.queryPrimitives(primitives, this.finalMatrix);
+    }
+
+    public boolean is3DBoxVisible(final Vector3f min, final Vector3f max) {
+        this.computeFinalMatrix();
+        return this.isBoxVisible(min, max, this.finalMatrix);
+    }
+
     public Matrix4fStack getModelViewMatrix() {
         return this.modelViewMatrix;
     }
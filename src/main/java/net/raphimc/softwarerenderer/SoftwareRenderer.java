@@ -17,46 +17,167 @@
  */
 package net.raphimc.softwarerenderer;
 
+import net.raphimc.softwarerenderer.command.CommandList;
+import net.raphimc.softwarerenderer.command.DrawCommand;
+import net.raphimc.softwarerenderer.command.PrimitivesCommand;
 import net.raphimc.softwarerenderer.data.ClipRect;
 import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.data.RenderState;
 import net.raphimc.softwarerenderer.enums.CullFace;
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.enums.PrimitiveType;
+import net.raphimc.softwarerenderer.enums.WrapMode;
 import net.raphimc.softwarerenderer.primitives.Primitive;
+import net.raphimc.softwarerenderer.rasterizer.Clipper;
+import net.raphimc.softwarerenderer.rasterizer.DepthBuffer;
+import net.raphimc.softwarerenderer.rasterizer.DirtyRegion;
+import net.raphimc.softwarerenderer.rasterizer.HierarchicalDepthBuffer;
+import net.raphimc.softwarerenderer.rasterizer.PolygonRasterizer;
+import net.raphimc.softwarerenderer.rasterizer.QuadRasterizer;
 import net.raphimc.softwarerenderer.rasterizer.Rasterizer;
+import net.raphimc.softwarerenderer.rasterizer.SpriteBlitter;
+import net.raphimc.softwarerenderer.rasterizer.TileBinner;
+import net.raphimc.softwarerenderer.rasterizer.TriangleRasterizer;
+import net.raphimc.softwarerenderer.stats.CountingRasterizer;
+import net.raphimc.softwarerenderer.stats.RenderStats;
+import net.raphimc.softwarerenderer.text.GlyphAtlas;
+import net.raphimc.softwarerenderer.vertex.Mesh;
+import net.raphimc.softwarerenderer.vertex.MeshPart;
+import net.raphimc.softwarerenderer.vertex.RasterVertex;
+import net.raphimc.softwarerenderer.vertex.SpriteBatch;
+import net.raphimc.softwarerenderer.vertex.Vertex;
+import net.raphimc.softwarerenderer.vertex.VertexBuffer;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Matrix4f;
+import org.joml.Vector3f;
 
 import java.awt.*;
+import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class SoftwareRenderer {
 
-    private final BufferedImage renderTarget;
-    private final ImageBuffer colorBuffer;
-    private final Graphics2D graphics;
-    private final float[] depthBuffer;
+    public static final int DEFAULT_TILE_SIZE = 64;
+    private static final int PROJECTION_BATCH_SIZE = 256;
+
+    private BufferedImage renderTarget;
+    private ImageBuffer colorBuffer;
+    private Graphics2D graphics;
+    private final DepthBuffer depthBuffer;
     private final Matrix4f identityMatrix;
+    private Clipper clipper;
+    private final SpriteBlitter spriteBlitter;
 
     private CullFace cullFace = CullFace.NONE;
     private boolean depthEnabled = false;
     private ClipRect clipRect = null;
     private boolean wireframe = false;
+    private Executor executor = null;
+    private TileBinner tileBinner = null;
+    private HierarchicalDepthBuffer hierarchicalDepthBuffer = null;
+    private DirtyRegion dirtyRegion = null;
+    private float[] projectedVertices = new float[0];
+    private int[] outcodes = new int[0];
+    private VertexBuffer spriteVertexBuffer = null;
+    private SpriteBatch textSpriteBatch = null;
+    private RenderStats renderStats = null;
 
     public SoftwareRenderer(final int width, final int height) {
         this.renderTarget = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
-        this.colorBuffer = new ImageBuffer(this.renderTarget);
+        this.colorBuffer = createColorBuffer(this.renderTarget);
         this.graphics = this.renderTarget.createGraphics();
-        this.depthBuffer = new float[width * height];
+        this.depthBuffer = new DepthBuffer(width, height);
         this.identityMatrix = new Matrix4f();
+        this.clipper = new Clipper(width, height);
+        this.spriteBlitter = new SpriteBlitter();
         this.clearDepthBuffer();
     }
 
+    // Buffers are only reallocated when they grow past their capacity, so repeated resizing mostly reuses memory
+    // Images and color buffers obtained before a resize may share the pixel array with the new ones and are no longer valid frames afterwards
+    public void resize(final int width, final int height) {
+        if (width == this.colorBuffer.width() && height == this.colorBuffer.height()) {
+            return;
+        }
+        int[] raster = this.colorBuffer.raster();
+        if (raster.length < width * height) {
+            raster = new int[Math.max(width * height, raster.length + (raster.length >> 1))];
+        } else {
+            Arrays.fill(raster, 0, width * height, 0);
+        }
+        final DataBufferInt dataBuffer = new DataBufferInt(raster, width * height);
+        final WritableRaster writableRaster = Raster.createPackedRaster(dataBuffer, width, height, width, new int[]{0xFF0000, 0xFF00, 0xFF, 0xFF000000}, null);
+        final DirectColorModel colorModel = new DirectColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB), 32, 0xFF0000, 0xFF00, 0xFF, 0xFF000000, true, DataBuffer.TYPE_INT);
+        this.graphics.dispose();
+        this.renderTarget = new BufferedImage(colorModel, writableRaster, true, null);
+        this.colorBuffer = createColorBuffer(this.renderTarget);
+        this.graphics = this.renderTarget.createGraphics();
+        this.depthBuffer.resize(width, height);
+        final Clipper clipper = new Clipper(width, height);
+        clipper.setNearW(this.clipper.getNearW());
+        // A new clipper also invalidates the projections cached by meshes, since their outcodes depend on the screen size
+        this.clipper = clipper;
+        if (this.tileBinner != null) {
+            this.tileBinner = new TileBinner(width, height, this.tileBinner.getTileSize());
+        }
+        if (this.hierarchicalDepthBuffer != null) {
+            this.hierarchicalDepthBuffer = new HierarchicalDepthBuffer(this.depthBuffer);
+        }
+        if (this.dirtyRegion != null) {
+            this.dirtyRegion = new DirtyRegion(width, height);
+            this.dirtyRegion.addAll();
+        }
+        if (this.renderStats != null) {
+            this.renderStats.setScreenSize(width, height);
+        }
+    }
+
     public void clearColorBuffer() {
-        Arrays.fill(this.colorBuffer.raster(), 0);
+        Arrays.fill(this.colorBuffer.raster(), 0, this.colorBuffer.width() * this.colorBuffer.height(), 0);
+    }
+
+    public void clearColorBuffer(final ClipRect rect) {
+        final ClipRect clampedRect = this.clampToScreen(rect);
+        if (clampedRect != null) {
+            final int[] raster = this.colorBuffer.raster();
+            final int width = this.colorBuffer.width();
+            for (int y = clampedRect.minY(); y <= clampedRect.maxY(); y++) {
+                Arrays.fill(raster, y * width + clampedRect.minX(), y * width + clampedRect.maxX() + 1, 0);
+            }
+        }
     }
 
     public void clearDepthBuffer() {
-        Arrays.fill(this.depthBuffer, Float.MAX_VALUE);
+        this.depthBuffer.clear(Float.MAX_VALUE);
+        if (this.hierarchicalDepthBuffer != null) {
+            this.hierarchicalDepthBuffer.clear(Float.MAX_VALUE);
+        }
+    }
+
+    public void clearDepthBuffer(final ClipRect rect) {
+        final ClipRect clampedRect = this.clampToScreen(rect);
+        if (clampedRect != null) {
+            this.depthBuffer.clear(clampedRect, Float.MAX_VALUE);
+            if (this.hierarchicalDepthBuffer != null) {
+                this.hierarchicalDepthBuffer.clear(clampedRect, Float.MAX_VALUE);
+            }
+        }
+    }
+
+    public void markDirty(final ClipRect rect) {
+        if (this.dirtyRegion != null) {
+            this.dirtyRegion.add(rect);
+        }
     }
 
     public int draw2DPrimitives(final List<? extends Primitive> primitives) {
@@ -65,28 +186,582 @@ public class SoftwareRenderer {
     }
 
     public int drawPrimitives(final List<? extends Primitive> primitives, final Matrix4f matrix) {
+        if (this.renderStats != null) {
+            this.renderStats.beginDraw("Primitives");
+        }
         int renderedPrimitives = 0;
-        for (Primitive primitive : primitives) {
-            final Rasterizer rasterizer = primitive.createRasterizer(matrix);
-            if (this.rasterize(rasterizer)) {
+        if (this.executor != null && !this.wireframe) {
+            renderedPrimitives = this.drawPrimitivesParallel(primitives, matrix);
+        } else {
+            for (Primitive primitive : primitives) {
+                final long start = this.renderStats != null ? System.nanoTime() : 0L;
+                final Rasterizer rasterizer = primitive.createRasterizer(matrix, this.clipper);
+                if (this.renderStats != null) {
+                    this.renderStats.addProjectionTime(System.nanoTime() - start);
+                }
+                if (this.rasterize(rasterizer)) {
+                    renderedPrimitives++;
+                }
+            }
+        }
+        if (this.renderStats != null) {
+            this.renderStats.endDraw();
+        }
+        return renderedPrimitives;
+    }
+
+    public int draw2DVertexBuffer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        this.identityMatrix.identity();
+        return this.drawVertexBuffer(vertexBuffer, primitiveType, textureBuffer, this.identityMatrix);
+    }
+
+    public int drawVertexBuffer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer, final Matrix4f matrix) {
+        if (this.renderStats != null) {
+            this.renderStats.beginDraw("VertexBuffer");
+        }
+        final long start = this.renderStats != null ? System.nanoTime() : 0L;
+        final int primitiveCount = primitiveType.getPrimitiveCount(vertexBuffer.getElementCount());
+        this.projectedVertices = vertexBuffer.project(matrix, this.projectedVertices);
+        this.outcodes = this.computeOutcodes(vertexBuffer, matrix, this.projectedVertices, this.outcodes);
+        if (this.renderStats != null) {
+            this.renderStats.addProjectionTime(System.nanoTime() - start);
+        }
+        final int renderedPrimitives = this.drawProjectedVertexBuffer(vertexBuffer, primitiveType, textureBuffer, matrix, this.projectedVertices, this.outcodes, null, primitiveCount);
+        if (this.renderStats != null) {
+            this.renderStats.endDraw();
+        }
+        return renderedPrimitives;
+    }
+
+    public int draw2DMesh(final Mesh mesh) {
+        this.identityMatrix.identity();
+        return this.drawMesh(mesh, this.identityMatrix);
+    }
+
+    public int drawMesh(final Mesh mesh, final Matrix4f matrix) {
+        if (this.renderStats != null) {
+            this.renderStats.beginDraw("Mesh");
+        }
+        int renderedPrimitives = 0;
+        for (final MeshPart part : mesh.getParts()) {
+            final VertexBuffer vertexBuffer = part.getVertexBuffer();
+            final PrimitiveType primitiveType = part.getPrimitiveType();
+            final long start = this.renderStats != null ? System.nanoTime() : 0L;
+            if (!part.isProjectionValid(matrix, this.clipper)) {
+                final float[] projectedVertices = vertexBuffer.project(matrix, part.getProjectedVertices());
+                part.setProjection(matrix, this.clipper, projectedVertices, this.computeOutcodes(vertexBuffer, matrix, projectedVertices, part.getOutcodes()));
+            }
+            if (!part.isVisibilityValid(this.cullFace)) {
+                part.setVisibility(this.cullFace, this.collectVisiblePrimitives(vertexBuffer, primitiveType, part.getProjectedVertices(), part.getOutcodes(), part.getVisiblePrimitives()));
+            }
+            if (this.renderStats != null) {
+                this.renderStats.addProjectionTime(System.nanoTime() - start);
+                // Primitives filtered out by the cached visibility never reach the loop below
+                final int filteredPrimitives = primitiveType.getPrimitiveCount(vertexBuffer.getElementCount()) - part.getVisiblePrimitiveCount();
+                this.renderStats.addPrimitives(filteredPrimitives, filteredPrimitives, 0);
+            }
+            renderedPrimitives += this.drawProjectedVertexBuffer(vertexBuffer, primitiveType, part.getTextureBuffer(), matrix, part.getProjectedVertices(), part.getOutcodes(), part.getVisiblePrimitives(), part.getVisiblePrimitiveCount());
+        }
+        if (this.renderStats != null) {
+            this.renderStats.endDraw();
+        }
+        return renderedPrimitives;
+    }
+
+    private int drawProjectedVertexBuffer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer, final Matrix4f matrix, final float[] projectedVertices, final int[] outcodes, final int @Nullable [] primitives, final int primitiveCount) {
+        final float[] depthBuffer = this.depthEnabled ? this.depthBuffer.raster() : null;
+        final HierarchicalDepthBuffer hierarchicalDepthBuffer = this.depthEnabled ? this.hierarchicalDepthBuffer : null;
+        final boolean parallel = this.executor != null && !this.wireframe;
+        // Clipped primitives are binned with negative indices into this list, so every tile reuses the same clipped rasterizer
+        final List<Rasterizer> clippedRasterizers = parallel ? new ArrayList<>() : null;
+        if (parallel) {
+            this.tileBinner.reset(this.clipRect);
+        }
+
+        final long start = this.renderStats != null ? System.nanoTime() : 0L;
+        int renderedPrimitives = 0;
+        int clippedPrimitives = 0;
+        for (int i = 0; i < primitiveCount; i++) {
+            final int primitive = primitives != null ? primitives[i] : i;
+            int commonOutcodes = -1;
+            int combinedOutcodes = 0;
+            for (int corner = 0; corner < primitiveType.getCornerCount(); corner++) {
+                final int outcode = outcodes[vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, corner))];
+                commonOutcodes &= outcode;
+                combinedOutcodes |= outcode;
+            }
+            if (Clipper.isRejected(commonOutcodes)) {
+                continue;
+            }
+            if (Clipper.needsClipping(combinedOutcodes)) {
+                final Rasterizer rasterizer = this.createClippedRasterizer(vertexBuffer, primitiveType, primitive, textureBuffer, matrix);
+                if (rasterizer.canBeCulled(this.cullFace)) {
+                    continue;
+                }
                 renderedPrimitives++;
+                clippedPrimitives++;
+                if (parallel || this.dirtyRegion != null || depthBuffer != null) {
+                    final ClipRect bounds = rasterizer.getBounds();
+                    if (this.dirtyRegion != null) {
+                        this.dirtyRegion.add(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), this.clipRect);
+                    }
+                    if (depthBuffer != null) {
+                        this.depthBuffer.prepare(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), this.clipRect);
+                    }
+                    if (parallel) {
+                        clippedRasterizers.add(this.withStats(rasterizer));
+                        this.tileBinner.add(-clippedRasterizers.size(), bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY());
+                        continue;
+                    }
+                }
+                if (this.wireframe) {
+                    rasterizer.drawWireframe(this.colorBuffer, depthBuffer, this.clipRect);
+                } else if (hierarchicalDepthBuffer != null) {
+                    hierarchicalDepthBuffer.rasterize(this.withStats(rasterizer), this.colorBuffer, this.clipRect);
+                } else {
+                    this.withStats(rasterizer).rasterize(this.colorBuffer, depthBuffer, this.clipRect);
+                }
+                continue;
+            }
+            if (this.canBeCulled(vertexBuffer, primitiveType, primitive, projectedVertices)) {
+                continue;
+            }
+            renderedPrimitives++;
+            if (parallel || this.dirtyRegion != null || depthBuffer != null) {
+                float minX = Float.POSITIVE_INFINITY;
+                float minY = Float.POSITIVE_INFINITY;
+                float maxX = Float.NEGATIVE_INFINITY;
+                float maxY = Float.NEGATIVE_INFINITY;
+                for (int corner = 0; corner < primitiveType.getCornerCount(); corner++) {
+                    final int projectedIndex = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, corner)) * VertexBuffer.PROJECTED_STRIDE;
+                    minX = Math.min(minX, projectedVertices[projectedIndex]);
+                    minY = Math.min(minY, projectedVertices[projectedIndex + 1]);
+                    maxX = Math.max(maxX, projectedVertices[projectedIndex]);
+                    maxY = Math.max(maxY, projectedVertices[projectedIndex + 1]);
+                }
+                if (this.dirtyRegion != null) {
+                    this.dirtyRegion.add((int) Math.floor(minX), (int) Math.floor(minY), (int) Math.ceil(maxX), (int) Math.ceil(maxY), this.clipRect);
+                }
+                if (depthBuffer != null) {
+                    this.depthBuffer.prepare((int) Math.floor(minX), (int) Math.floor(minY), (int) Math.ceil(maxX), (int) Math.ceil(maxY), this.clipRect);
+                }
+                if (parallel) {
+                    this.tileBinner.add(primitive, (int) Math.floor(minX), (int) Math.floor(minY), (int) Math.ceil(maxX), (int) Math.ceil(maxY));
+                    continue;
+                }
+            }
+            if (this.wireframe) {
+                this.drawWireframe(vertexBuffer, primitiveType, primitive, textureBuffer, projectedVertices, depthBuffer);
+            } else {
+                this.rasterize(vertexBuffer, primitiveType, primitive, textureBuffer, projectedVertices, depthBuffer, hierarchicalDepthBuffer, this.clipRect);
+            }
+        }
+        if (parallel) {
+            this.tileBinner.execute((primitive, tileClipRect) -> {
+                if (primitive < 0) {
+                    final Rasterizer rasterizer = clippedRasterizers.get(-primitive - 1);
+                    if (hierarchicalDepthBuffer != null) {
+                        hierarchicalDepthBuffer.rasterize(rasterizer, this.colorBuffer, tileClipRect);
+                    } else {
+                        rasterizer.rasterize(this.colorBuffer, depthBuffer, tileClipRect);
+                    }
+                } else {
+                    this.rasterize(vertexBuffer, primitiveType, primitive, textureBuffer, projectedVertices, depthBuffer, hierarchicalDepthBuffer, tileClipRect);
+                }
+            }, this.executor);
+        }
+        if (this.renderStats != null) {
+            this.renderStats.addPrimitives(primitiveCount, primitiveCount - renderedPrimitives, clippedPrimitives);
+            this.renderStats.addRasterTime(System.nanoTime() - start);
+        }
+        return renderedPrimitives;
+    }
+
+    public int draw2DSpriteBatch(final SpriteBatch spriteBatch, @Nullable final ImageBuffer textureBuffer) {
+        this.identityMatrix.identity();
+        return this.drawSpriteBatch(spriteBatch, textureBuffer, this.identityMatrix);
+    }
+
+    public int drawSpriteBatch(final SpriteBatch spriteBatch, @Nullable final ImageBuffer textureBuffer, final Matrix4f matrix) {
+        // Sprites stay axis aligned rectangles on screen only under a scale and translation, anything else goes through the regular quad path
+        final boolean axisAligned = matrix.m01() == 0F && matrix.m10() == 0F && matrix.m03() == 0F && matrix.m13() == 0F && matrix.m23() == 0F && matrix.m33() == 1F;
+        if (!axisAligned || this.depthEnabled || this.wireframe) {
+            if (this.spriteVertexBuffer == null) {
+                this.spriteVertexBuffer = new VertexBuffer(spriteBatch.getSize() * 4);
+            }
+            return this.drawVertexBuffer(spriteBatch.toVertexBuffer(this.spriteVertexBuffer), PrimitiveType.QUADS, textureBuffer, matrix);
+        }
+
+        if (this.renderStats != null) {
+            this.renderStats.beginDraw("SpriteBatch");
+        }
+        final long start = this.renderStats != null ? System.nanoTime() : 0L;
+        long coveredPixels = 0;
+        final float m00 = matrix.m00(), m11 = matrix.m11(), m30 = matrix.m30(), m31 = matrix.m31();
+        final float[] data = spriteBatch.getData();
+        final int[] colors = spriteBatch.getColors();
+        int renderedSprites = 0;
+        for (int i = 0; i < spriteBatch.getSize(); i++) {
+            final int dataIndex = i * SpriteBatch.STRIDE;
+            final float x = data[dataIndex];
+            final float y = data[dataIndex + 1];
+            float x0 = m00 * x + m30;
+            float y0 = m11 * y + m31;
+            float x1 = m00 * (x + data[dataIndex + 2]) + m30;
+            float y1 = m11 * (y + data[dataIndex + 3]) + m31;
+            if (TriangleRasterizer.canBeCulled(this.cullFace, x0, y0, x1, y0, x1, y1)) {
+                continue;
+            }
+            float u0 = data[dataIndex + 4];
+            float v0 = data[dataIndex + 5];
+            float u1 = data[dataIndex + 6];
+            float v1 = data[dataIndex + 7];
+            if (x1 < x0) {
+                final float swapX = x0;
+                x0 = x1;
+                x1 = swapX;
+                final float swapU = u0;
+                u0 = u1;
+                u1 = swapU;
+            }
+            if (y1 < y0) {
+                final float swapY = y0;
+                y0 = y1;
+                y1 = swapY;
+                final float swapV = v0;
+                v0 = v1;
+                v1 = swapV;
+            }
+            final int spritePixels = this.spriteBlitter.blit(this.colorBuffer, this.clipRect, textureBuffer, x0, y0, x1, y1, u0, v0, u1, v1, colors[i]);
+            if (spritePixels > 0) {
+                if (this.dirtyRegion != null) {
+                    this.dirtyRegion.add((int) Math.floor(x0), (int) Math.floor(y0), (int) Math.ceil(x1), (int) Math.ceil(y1), this.clipRect);
+                }
+                coveredPixels += spritePixels;
+                renderedSprites++;
+            }
+        }
+        if (this.renderStats != null) {
+            this.renderStats.addPrimitives(spriteBatch.getSize(), spriteBatch.getSize() - renderedSprites, 0);
+            this.renderStats.addSamples(coveredPixels, 0);
+            this.renderStats.addRasterTime(System.nanoTime() - start);
+            this.renderStats.endDraw();
+        }
+        return renderedSprites;
+    }
+
+    public int draw2DString(final GlyphAtlas glyphAtlas, final String text, final float x, final float y, final int c) {
+        this.identityMatrix.identity();
+        return this.drawString(glyphAtlas, text, x, y, c, this.identityMatrix);
+    }
+
+    public int drawString(final GlyphAtlas glyphAtlas, final String text, final float x, final float y, final int c, final Matrix4f matrix) {
+        if (this.textSpriteBatch == null) {
+            this.textSpriteBatch = new SpriteBatch();
+        }
+        this.textSpriteBatch.clear();
+        glyphAtlas.appendString(this.textSpriteBatch, text, x, y, c);
+        return this.drawSpriteBatch(this.textSpriteBatch, glyphAtlas.getTexture(), matrix);
+    }
+
+    public int draw2DIndexedPrimitives(final List<? extends Vertex> vertices, final int[] indices, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        this.identityMatrix.identity();
+        return this.drawIndexedPrimitives(vertices, indices, primitiveType, textureBuffer, this.identityMatrix);
+    }
+
+    public int drawIndexedPrimitives(final List<? extends Vertex> vertices, final int[] indices, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer, final Matrix4f matrix) {
+        if (this.renderStats != null) {
+            this.renderStats.beginDraw("IndexedPrimitives");
+        }
+        final long start = this.renderStats != null ? System.nanoTime() : 0L;
+        final int primitiveCount = primitiveType.getPrimitiveCount(indices.length);
+        final RasterVertex[] clipSpaceVertices = new RasterVertex[vertices.size()];
+        final RasterVertex[] projectedVertices = new RasterVertex[vertices.size()];
+        final int[] outcodes = new int[vertices.size()];
+        final RasterVertex[] polygon = new RasterVertex[primitiveType.getCornerCount()];
+        final Rasterizer[] rasterizers = new Rasterizer[primitiveCount];
+        for (int primitive = 0; primitive < primitiveCount; primitive++) {
+            int commonOutcodes = -1;
+            int combinedOutcodes = 0;
+            for (int corner = 0; corner < polygon.length; corner++) {
+                final int index = indices[primitiveType.getElement(primitive, corner)];
+                if (clipSpaceVertices[index] == null) {
+                    clipSpaceVertices[index] = vertices.get(index).transform(matrix);
+                    outcodes[index] = this.clipper.getOutcode(clipSpaceVertices[index]);
+                    if (!Clipper.needsClipping(outcodes[index])) {
+                        projectedVertices[index] = Clipper.project(clipSpaceVertices[index]);
+                    }
+                }
+                polygon[corner] = clipSpaceVertices[index];
+                commonOutcodes &= outcodes[index];
+                combinedOutcodes |= outcodes[index];
+            }
+
+            if (Clipper.isRejected(commonOutcodes)) {
+                rasterizers[primitive] = PolygonRasterizer.EMPTY;
+            } else if (Clipper.needsClipping(combinedOutcodes)) {
+                rasterizers[primitive] = new PolygonRasterizer(this.clipper.clipPolygon(polygon), textureBuffer);
+            } else {
+                final RasterVertex v1 = projectedVertices[indices[primitiveType.getElement(primitive, 0)]];
+                final RasterVertex v2 = projectedVertices[indices[primitiveType.getElement(primitive, 1)]];
+                final RasterVertex v3 = projectedVertices[indices[primitiveType.getElement(primitive, 2)]];
+                if (primitiveType == PrimitiveType.QUADS) {
+                    final RasterVertex v4 = projectedVertices[indices[primitiveType.getElement(primitive, 3)]];
+                    rasterizers[primitive] = new QuadRasterizer(v1, v2, v3, v4, textureBuffer);
+                } else {
+                    rasterizers[primitive] = new TriangleRasterizer(v1, v2, v3, textureBuffer);
+                }
             }
         }
+
+        if (this.renderStats != null) {
+            this.renderStats.addProjectionTime(System.nanoTime() - start);
+        }
+
+        int renderedPrimitives = 0;
+        if (this.executor != null && !this.wireframe) {
+            renderedPrimitives = this.rasterizeParallel(rasterizers);
+        } else {
+            for (Rasterizer rasterizer : rasterizers) {
+                if (this.rasterize(rasterizer)) {
+                    renderedPrimitives++;
+                }
+            }
+        }
+        if (this.renderStats != null) {
+            this.renderStats.endDraw();
+        }
+        return renderedPrimitives;
+    }
+
+    public int execute(final CommandList commandList) {
+        final RenderState previousState = this.getRenderState();
+        final List<DrawCommand> commands = commandList.getCommands();
+        int renderedPrimitives = 0;
+        int start = 0;
+        while (start < commands.size()) {
+            final DrawCommand command = commands.get(start);
+            this.setRenderState(command.state());
+            int end = start + 1;
+            if (this.executor != null && isBatchable(command, command)) {
+                while (end < commands.size() && isBatchable(command, commands.get(end))) {
+                    end++;
+                }
+            }
+            if (end - start > 1) {
+                renderedPrimitives += this.drawCommandsParallel(commands, start, end);
+            } else {
+                renderedPrimitives += command.execute(this);
+            }
+            start = end;
+        }
+        this.setRenderState(previousState);
         return renderedPrimitives;
     }
 
     public boolean rasterize(final Rasterizer rasterizer) {
         if (rasterizer.canBeCulled(this.cullFace)) {
+            if (this.renderStats != null) {
+                this.renderStats.addPrimitives(1, 1, 0);
+            }
             return false;
         }
+        final long start = this.renderStats != null ? System.nanoTime() : 0L;
+        final float[] depthBuffer = this.depthEnabled ? this.depthBuffer.raster() : null;
+        if (this.dirtyRegion != null || depthBuffer != null) {
+            final ClipRect bounds = rasterizer.getBounds();
+            if (this.dirtyRegion != null) {
+                this.dirtyRegion.add(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), this.clipRect);
+            }
+            if (depthBuffer != null) {
+                this.depthBuffer.prepare(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), this.clipRect);
+            }
+        }
         if (this.wireframe) {
-            rasterizer.drawWireframe(this.graphics, this.clipRect);
+            rasterizer.drawWireframe(this.colorBuffer, depthBuffer, this.clipRect);
+        } else if (this.depthEnabled && this.hierarchicalDepthBuffer != null) {
+            this.hierarchicalDepthBuffer.rasterize(this.withStats(rasterizer), this.colorBuffer, this.clipRect);
         } else {
-            rasterizer.rasterize(this.colorBuffer, this.depthEnabled ? this.depthBuffer : null, this.clipRect);
+            this.withStats(rasterizer).rasterize(this.colorBuffer, depthBuffer, this.clipRect);
+        }
+        if (this.renderStats != null) {
+            this.renderStats.addPrimitives(1, 0, rasterizer instanceof PolygonRasterizer ? 1 : 0);
+            this.renderStats.addRasterTime(System.nanoTime() - start);
         }
         return true;
     }
 
+    public int query2DPrimitives(final List<? extends Primitive> primitives) {
+        this.identityMatrix.identity();
+        return this.queryPrimitives(primitives, this.identityMatrix);
+    }
+
+    public int queryPrimitives(final List<? extends Primitive> primitives, final Matrix4f matrix) {
+        int visibleSamples = 0;
+        for (Primitive primitive : primitives) {
+            visibleSamples += this.query(primitive.createRasterizer(matrix, this.clipper));
+        }
+        return visibleSamples;
+    }
+
+    public int query(final Rasterizer rasterizer) {
+        if (rasterizer.canBeCulled(this.cullFace)) {
+            return 0;
+        }
+        if (this.depthEnabled && this.hierarchicalDepthBuffer != null) {
+            final ClipRect bounds = rasterizer.getBounds();
+            if (this.hierarchicalDepthBuffer.isOccluded(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), this.clipRect, rasterizer.getMinDepth())) {
+                return 0;
+            }
+        }
+        if (this.depthEnabled) {
+            final ClipRect bounds = rasterizer.getBounds();
+            this.depthBuffer.prepare(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), this.clipRect);
+        }
+        return rasterizer.countVisibleSamples(this.renderTarget.getWidth(), this.renderTarget.getHeight(), this.depthEnabled ? this.depthBuffer.raster() : null, this.clipRect);
+    }
+
+    public boolean is2DBoxVisible(final Vector3f min, final Vector3f max) {
+        this.identityMatrix.identity();
+        return this.isBoxVisible(min, max, this.identityMatrix);
+    }
+
+    public boolean isBoxVisible(final Vector3f min, final Vector3f max, final Matrix4f matrix) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float minDepth = Float.POSITIVE_INFINITY;
+        for (int corner = 0; corner < 8; corner++) {
+            final float x = (corner & 1) == 0 ? min.x : max.x;
+            final float y = (corner & 2) == 0 ? min.y : max.y;
+            final float z = (corner & 4) == 0 ? min.z : max.z;
+            final float w = matrix.m03() * x + matrix.m13() * y + matrix.m23() * z + matrix.m33();
+            if (!(w > 0F)) {
+                // The box reaches behind the camera, so its screen space bounds are unknown
+                return true;
+            }
+            final float projectedX = (matrix.m00() * x + matrix.m10() * y + matrix.m20() * z + matrix.m30()) / w;
+            final float projectedY = (matrix.m01() * x + matrix.m11() * y + matrix.m21() * z + matrix.m31()) / w;
+            final float projectedZ = (matrix.m02() * x + matrix.m12() * y + matrix.m22() * z + matrix.m32()) / w;
+            minX = Math.min(minX, projectedX);
+            minY = Math.min(minY, projectedY);
+            maxX = Math.max(maxX, projectedX);
+            maxY = Math.max(maxY, projectedY);
+            minDepth = Math.min(minDepth, projectedZ);
+        }
+
+        int clampedMinX = Math.max((int) Math.floor(minX), 0);
+        int clampedMinY = Math.max((int) Math.floor(minY), 0);
+        int clampedMaxX = Math.min((int) Math.ceil(maxX), this.renderTarget.getWidth() - 1);
+        int clampedMaxY = Math.min((int) Math.ceil(maxY), this.renderTarget.getHeight() - 1);
+        if (this.clipRect != null) {
+            clampedMinX = Math.max(clampedMinX, this.clipRect.minX());
+            clampedMinY = Math.max(clampedMinY, this.clipRect.minY());
+            clampedMaxX = Math.min(clampedMaxX, this.clipRect.maxX());
+            clampedMaxY = Math.min(clampedMaxY, this.clipRect.maxY());
+        }
+        if (clampedMinX > clampedMaxX || clampedMinY > clampedMaxY) {
+            return false;
+        }
+        if (!this.depthEnabled) {
+            return true;
+        }
+        if (this.hierarchicalDepthBuffer != null) {
+            return !this.hierarchicalDepthBuffer.isOccluded(clampedMinX, clampedMinY, clampedMaxX, clampedMaxY, null, minDepth);
+        }
+        this.depthBuffer.prepare(clampedMinX, clampedMinY, clampedMaxX, clampedMaxY, null);
+        final float[] depthBuffer = this.depthBuffer.raster();
+        final int width = this.renderTarget.getWidth();
+        for (int y = clampedMinY; y <= clampedMaxY; y++) {
+            final int rowIndex = y * width;
+            for (int x = clampedMinX; x <= clampedMaxX; x++) {
+                if (!(depthBuffer[rowIndex + x] <= minDepth)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void setParallel(@Nullable final Executor executor) {
+        this.setParallel(executor, DEFAULT_TILE_SIZE);
+    }
+
+    public void setParallel(@Nullable final Executor executor, final int tileSize) {
+        this.executor = executor;
+        if (executor != null) {
+            this.tileBinner = new TileBinner(this.renderTarget.getWidth(), this.renderTarget.getHeight(), tileSize);
+        } else {
+            this.tileBinner = null;
+        }
+    }
+
+    public boolean isParallel() {
+        return this.executor != null;
+    }
+
+    public void setHierarchicalDepthEnabled(final boolean hierarchicalDepthEnabled) {
+        if (hierarchicalDepthEnabled) {
+            if (this.hierarchicalDepthBuffer == null) {
+                this.hierarchicalDepthBuffer = new HierarchicalDepthBuffer(this.depthBuffer);
+            }
+        } else {
+            this.hierarchicalDepthBuffer = null;
+        }
+    }
+
+    public boolean isHierarchicalDepthEnabled() {
+        return this.hierarchicalDepthBuffer != null;
+    }
+
+    public void setRenderStatsEnabled(final boolean renderStatsEnabled) {
+        if (renderStatsEnabled) {
+            if (this.renderStats == null) {
+                this.renderStats = new RenderStats(this.colorBuffer.width(), this.colorBuffer.height());
+            }
+        } else {
+            this.renderStats = null;
+        }
+    }
+
+    public boolean isRenderStatsEnabled() {
+        return this.renderStats != null;
+    }
+
+    @Nullable
+    public RenderStats getRenderStats() {
+        return this.renderStats;
+    }
+
+    public void setDirtyTrackingEnabled(final boolean dirtyTrackingEnabled) {
+        if (dirtyTrackingEnabled) {
+            if (this.dirtyRegion == null) {
+                this.dirtyRegion = new DirtyRegion(this.renderTarget.getWidth(), this.renderTarget.getHeight());
+                this.dirtyRegion.addAll();
+            }
+        } else {
+            this.dirtyRegion = null;
+        }
+    }
+
+    public boolean isDirtyTrackingEnabled() {
+        return this.dirtyRegion != null;
+    }
+
+    @Nullable
+    public DirtyRegion getDirtyRegion() {
+        return this.dirtyRegion;
+    }
+
+    public void setNearClip(final float nearClip) {
+        this.clipper.setNearW(nearClip);
+    }
+
+    public float getNearClip() {
+        return this.clipper.getNearW();
+    }
+
     public void setCullFace(final CullFace cullFace) {
         this.cullFace = cullFace;
     }
@@ -119,6 +794,23 @@ public class SoftwareRenderer {
         return this.wireframe;
     }
 
+    public void setRenderState(final RenderState renderState) {
+        this.cullFace = renderState.cullFace();
+        this.depthEnabled = renderState.depthEnabled();
+        this.clipRect = renderState.clipRect();
+        this.wireframe = renderState.wireframe();
+    }
+
+    public RenderState getRenderState() {
+        return new RenderState(this.cullFace, this.depthEnabled, this.clipRect, this.wireframe);
+    }
+
+    // Only valid until the next resize, which may reuse the pixel array with a different layout
+    public ImageBuffer getColorBuffer() {
+        return this.colorBuffer;
+    }
+
+    // Only valid until the next resize, which may reuse the pixel array with a different layout
     public BufferedImage getImage() {
         return this.renderTarget;
     }
@@ -127,4 +819,303 @@ public class SoftwareRenderer {
         return this.graphics;
     }
 
+    private int drawPrimitivesParallel(final List<? extends Primitive> primitives, final Matrix4f matrix) {
+        final long projectionStart = this.renderStats != null ? System.nanoTime() : 0L;
+        final Primitive[] primitiveArray = primitives.toArray(new Primitive[0]);
+        final Rasterizer[] rasterizers = new Rasterizer[primitiveArray.length];
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int start = 0; start < primitiveArray.length; start += PROJECTION_BATCH_SIZE) {
+            final int batchStart = start;
+            final int batchEnd = Math.min(start + PROJECTION_BATCH_SIZE, primitiveArray.length);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = batchStart; i < batchEnd; i++) {
+                    rasterizers[i] = primitiveArray[i].createRasterizer(matrix, this.clipper);
+                }
+            }, this.executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        if (this.renderStats != null) {
+            this.renderStats.addProjectionTime(System.nanoTime() - projectionStart);
+        }
+        return this.rasterizeParallel(rasterizers);
+    }
+
+    // Consecutive primitive commands are binned together, so many small draws with different clip rects and cull faces share one parallel pass
+    private int drawCommandsParallel(final List<DrawCommand> commands, final int start, final int end) {
+        if (this.renderStats != null) {
+            this.renderStats.beginDraw("Commands");
+        }
+        final long projectionStart = this.renderStats != null ? System.nanoTime() : 0L;
+        int primitiveCount = 0;
+        for (int i = start; i < end; i++) {
+            primitiveCount += ((PrimitivesCommand) commands.get(i)).primitives().size();
+        }
+        final Primitive[] primitives = new Primitive[primitiveCount];
+        final PrimitivesCommand[] primitiveCommands = new PrimitivesCommand[primitiveCount];
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            final PrimitivesCommand command = (PrimitivesCommand) commands.get(i);
+            for (Primitive primitive : command.primitives()) {
+                primitives[index] = primitive;
+                primitiveCommands[index++] = command;
+            }
+        }
+
+        final Rasterizer[] rasterizers = new Rasterizer[primitiveCount];
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int batch = 0; batch < primitiveCount; batch += PROJECTION_BATCH_SIZE) {
+            final int batchStart = batch;
+            final int batchEnd = Math.min(batch + PROJECTION_BATCH_SIZE, primitiveCount);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = batchStart; i < batchEnd; i++) {
+                    rasterizers[i] = primitives[i].createRasterizer(primitiveCommands[i].matrix(), this.clipper);
+                }
+            }, this.executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        final long rasterStart = this.renderStats != null ? System.nanoTime() : 0L;
+
+        final ClipRect[] clipRects = new ClipRect[primitiveCount];
+        int renderedPrimitives = 0;
+        for (int i = 0; i < primitiveCount; i++) {
+            final RenderState state = primitiveCommands[i].state();
+            if (!rasterizers[i].canBeCulled(state.cullFace())) {
+                clipRects[renderedPrimitives] = state.clipRect();
+                rasterizers[renderedPrimitives++] = rasterizers[i];
+            }
+        }
+        if (this.renderStats != null) {
+            this.countPrimitives(rasterizers, primitiveCount, renderedPrimitives);
+        }
+        this.prepareBounds(rasterizers, clipRects, renderedPrimitives, null);
+        this.tileBinner.rasterize(rasterizers, clipRects, renderedPrimitives, this.colorBuffer, this.depthEnabled ? this.depthBuffer.raster() : null, this.depthEnabled ? this.hierarchicalDepthBuffer : null, this.executor);
+        if (this.renderStats != null) {
+            this.renderStats.addProjectionTime(rasterStart - projectionStart);
+            this.renderStats.addRasterTime(System.nanoTime() - rasterStart);
+            this.renderStats.endDraw();
+        }
+        return renderedPrimitives;
+    }
+
+    private int rasterizeParallel(final Rasterizer[] rasterizers) {
+        final long start = this.renderStats != null ? System.nanoTime() : 0L;
+        int renderedPrimitives = 0;
+        for (Rasterizer rasterizer : rasterizers) {
+            if (!rasterizer.canBeCulled(this.cullFace)) {
+                rasterizers[renderedPrimitives++] = rasterizer;
+            }
+        }
+        if (this.renderStats != null) {
+            this.countPrimitives(rasterizers, rasterizers.length, renderedPrimitives);
+        }
+        this.prepareBounds(rasterizers, null, renderedPrimitives, this.clipRect);
+        this.tileBinner.rasterize(rasterizers, renderedPrimitives, this.colorBuffer, this.depthEnabled ? this.depthBuffer.raster() : null, this.depthEnabled ? this.hierarchicalDepthBuffer : null, this.clipRect, this.executor);
+        if (this.renderStats != null) {
+            this.renderStats.addRasterTime(System.nanoTime() - start);
+        }
+        return renderedPrimitives;
+    }
+
+    // Wraps the rasterizers that survived culling, so their samples are counted by the tile workers
+    private void countPrimitives(final Rasterizer[] rasterizers, final int submittedPrimitives, final int renderedPrimitives) {
+        int clippedPrimitives = 0;
+        for (int i = 0; i < renderedPrimitives; i++) {
+            if (rasterizers[i] instanceof PolygonRasterizer) {
+                clippedPrimitives++;
+            }
+            rasterizers[i] = new CountingRasterizer(rasterizers[i], this.renderStats);
+        }
+        this.renderStats.addPrimitives(submittedPrimitives, submittedPrimitives - renderedPrimitives, clippedPrimitives);
+    }
+
+    private Rasterizer withStats(final Rasterizer rasterizer) {
+        return this.renderStats != null ? new CountingRasterizer(rasterizer, this.renderStats) : rasterizer;
+    }
+
+    // Lazily cleared depth tiles are filled up front, so the worker threads never have to contend for them
+    private void prepareBounds(final Rasterizer[] rasterizers, final ClipRect @Nullable [] clipRects, final int count, @Nullable final ClipRect clipRect) {
+        if (this.dirtyRegion != null || this.depthEnabled) {
+            for (int i = 0; i < count; i++) {
+                final ClipRect bounds = rasterizers[i].getBounds();
+                final ClipRect primitiveClipRect = clipRects != null ? clipRects[i] : clipRect;
+                if (this.dirtyRegion != null) {
+                    this.dirtyRegion.add(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), primitiveClipRect);
+                }
+                if (this.depthEnabled) {
+                    this.depthBuffer.prepare(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), primitiveClipRect);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private ClipRect clampToScreen(final ClipRect rect) {
+        return new ClipRect(0, 0, this.colorBuffer.width() - 1, this.colorBuffer.height() - 1).intersect(rect);
+    }
+
+    private static boolean isBatchable(final DrawCommand first, final DrawCommand command) {
+        return command instanceof PrimitivesCommand && !command.state().wireframe() && command.state().depthEnabled() == first.state().depthEnabled();
+    }
+
+    private int[] computeOutcodes(final VertexBuffer vertexBuffer, final Matrix4f matrix, final float[] projectedVertices, int[] outcodes) {
+        if (outcodes.length < vertexBuffer.getSize()) {
+            outcodes = new int[vertexBuffer.getSize()];
+        }
+        final float[] positions = vertexBuffer.getPositions();
+        for (int i = 0; i < vertexBuffer.getSize(); i++) {
+            final int projectedIndex = i * VertexBuffer.PROJECTED_STRIDE;
+            final float w = projectedVertices[projectedIndex + 3];
+            int outcode = this.clipper.getProjectedOutcode(projectedVertices[projectedIndex], projectedVertices[projectedIndex + 1], w);
+            if (outcode == Clipper.NEAR) {
+                // The projected position is unusable for vertices behind the near plane, so the outcode is computed in clip space
+                final int positionIndex = i * VertexBuffer.POSITION_STRIDE;
+                final float x = positions[positionIndex];
+                final float y = positions[positionIndex + 1];
+                final float z = positions[positionIndex + 2];
+                outcode = this.clipper.getOutcode(matrix.m00() * x + matrix.m10() * y + matrix.m20() * z + matrix.m30(), matrix.m01() * x + matrix.m11() * y + matrix.m21() * z + matrix.m31(), w);
+            }
+            outcodes[i] = outcode;
+        }
+        return outcodes;
+    }
+
+    private int collectVisiblePrimitives(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, final float[] projectedVertices, final int[] outcodes, final int[] target) {
+        final int primitiveCount = primitiveType.getPrimitiveCount(vertexBuffer.getElementCount());
+        int visiblePrimitives = 0;
+        for (int primitive = 0; primitive < primitiveCount; primitive++) {
+            int commonOutcodes = -1;
+            int combinedOutcodes = 0;
+            for (int corner = 0; corner < primitiveType.getCornerCount(); corner++) {
+                final int outcode = outcodes[vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, corner))];
+                commonOutcodes &= outcode;
+                combinedOutcodes |= outcode;
+            }
+            if (Clipper.isRejected(commonOutcodes)) {
+                continue;
+            }
+            // Clipped primitives are culled after clipping, so they are always kept
+            if (Clipper.needsClipping(combinedOutcodes) || !this.canBeCulled(vertexBuffer, primitiveType, primitive, projectedVertices)) {
+                target[visiblePrimitives++] = primitive;
+            }
+        }
+        return visiblePrimitives;
+    }
+
+    private Rasterizer createClippedRasterizer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, final int primitive, @Nullable final ImageBuffer textureBuffer, final Matrix4f matrix) {
+        final float[] positions = vertexBuffer.getPositions();
+        final float[] texCoords = vertexBuffer.getTexCoords();
+        final RasterVertex[] polygon = new RasterVertex[primitiveType.getCornerCount()];
+        for (int corner = 0; corner < polygon.length; corner++) {
+            final int index = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, corner));
+            final int positionIndex = index * VertexBuffer.POSITION_STRIDE;
+            final int texCoordIndex = index * VertexBuffer.TEX_COORD_STRIDE;
+            final float x = positions[positionIndex];
+            final float y = positions[positionIndex + 1];
+            final float z = positions[positionIndex + 2];
+            polygon[corner] = new RasterVertex(
+                    matrix.m00() * x + matrix.m10() * y + matrix.m20() * z + matrix.m30(),
+                    matrix.m01() * x + matrix.m11() * y + matrix.m21() * z + matrix.m31(),
+                    matrix.m02() * x + matrix.m12() * y + matrix.m22() * z + matrix.m32(),
+                    matrix.m03() * x + matrix.m13() * y + matrix.m23() * z + matrix.m33(),
+                    vertexBuffer.getColors()[index], texCoords[texCoordIndex], texCoords[texCoordIndex + 1]
+            );
+        }
+        return new PolygonRasterizer(this.clipper.clipPolygon(polygon), textureBuffer);
+    }
+
+    private boolean canBeCulled(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, final int primitive, final float[] projectedVertices) {
+        final int i1 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 0));
+        final int i2 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 1));
+        final int i3 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 2));
+        if (primitiveType == PrimitiveType.QUADS) {
+            final int i4 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 3));
+            return this.canBeCulled(projectedVertices, i1, i2, i3) && this.canBeCulled(projectedVertices, i3, i4, i1);
+        } else {
+            return this.canBeCulled(projectedVertices, i1, i2, i3);
+        }
+    }
+
+    private boolean canBeCulled(final float[] projectedVertices, final int i1, final int i2, final int i3) {
+        final int p1 = i1 * VertexBuffer.PROJECTED_STRIDE;
+        final int p2 = i2 * VertexBuffer.PROJECTED_STRIDE;
+        final int p3 = i3 * VertexBuffer.PROJECTED_STRIDE;
+        return TriangleRasterizer.canBeCulled(this.cullFace, projectedVertices[p1], projectedVertices[p1 + 1], projectedVertices[p2], projectedVertices[p2 + 1], projectedVertices[p3], projectedVertices[p3 + 1]);
+    }
+
+    private void rasterize(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, final int primitive, @Nullable final ImageBuffer textureBuffer, final float[] projectedVertices, final float @Nullable [] depthBuffer, @Nullable final HierarchicalDepthBuffer hierarchicalDepthBuffer, @Nullable final ClipRect clipRect) {
+        int minX = 0;
+        int minY = 0;
+        int maxX = 0;
+        int maxY = 0;
+        if (hierarchicalDepthBuffer != null) {
+            float minVertexX = Float.POSITIVE_INFINITY;
+            float minVertexY = Float.POSITIVE_INFINITY;
+            float maxVertexX = Float.NEGATIVE_INFINITY;
+            float maxVertexY = Float.NEGATIVE_INFINITY;
+            float minDepth = Float.POSITIVE_INFINITY;
+            for (int corner = 0; corner < primitiveType.getCornerCount(); corner++) {
+                final int projectedIndex = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, corner)) * VertexBuffer.PROJECTED_STRIDE;
+                minVertexX = Math.min(minVertexX, projectedVertices[projectedIndex]);
+                minVertexY = Math.min(minVertexY, projectedVertices[projectedIndex + 1]);
+                maxVertexX = Math.max(maxVertexX, projectedVertices[projectedIndex]);
+                maxVertexY = Math.max(maxVertexY, projectedVertices[projectedIndex + 1]);
+                minDepth = Math.min(minDepth, projectedVertices[projectedIndex + 2]);
+            }
+            minX = (int) Math.floor(minVertexX);
+            minY = (int) Math.floor(minVertexY);
+            maxX = (int) Math.ceil(maxVertexX);
+            maxY = (int) Math.ceil(maxVertexY);
+            if (hierarchicalDepthBuffer.isOccluded(minX, minY, maxX, maxY, clipRect, minDepth)) {
+                return;
+            }
+        }
+
+        final long testedSamples = this.renderStats != null ? TriangleRasterizer.getTestedSamples() : 0L;
+        final long rejectedSamples = this.renderStats != null ? TriangleRasterizer.getRejectedSamples() : 0L;
+        final int[] colors = vertexBuffer.getColors();
+        final float[] texCoords = vertexBuffer.getTexCoords();
+        final int i1 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 0));
+        final int i2 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 1));
+        final int i3 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 2));
+        TriangleRasterizer.rasterize(this.colorBuffer, depthBuffer, clipRect, textureBuffer, projectedVertices, colors, texCoords, i1, i2, i3);
+        if (primitiveType == PrimitiveType.QUADS) {
+            final int i4 = vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 3));
+            TriangleRasterizer.rasterize(this.colorBuffer, depthBuffer, clipRect, textureBuffer, projectedVertices, colors, texCoords, i3, i4, i1);
+        }
+        if (this.renderStats != null) {
+            this.renderStats.addSamples(TriangleRasterizer.getTestedSamples() - testedSamples, TriangleRasterizer.getRejectedSamples() - rejectedSamples);
+        }
+        if (hierarchicalDepthBuffer != null) {
+            hierarchicalDepthBuffer.markDirty(minX, minY, maxX, maxY, clipRect);
+        }
+    }
+
+    private void drawWireframe(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, final int primitive, @Nullable final ImageBuffer textureBuffer, final float[] projectedVertices, final float @Nullable [] depthBuffer) {
+        this.createRasterizer(vertexBuffer, primitiveType, primitive, textureBuffer, projectedVertices).drawWireframe(this.colorBuffer, depthBuffer, this.clipRect);
+    }
+
+    private Rasterizer createRasterizer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, final int primitive, @Nullable final ImageBuffer textureBuffer, final float[] projectedVertices) {
+        final RasterVertex v1 = getRasterVertex(vertexBuffer, projectedVertices, vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 0)));
+        final RasterVertex v2 = getRasterVertex(vertexBuffer, projectedVertices, vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 1)));
+        final RasterVertex v3 = getRasterVertex(vertexBuffer, projectedVertices, vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 2)));
+        if (primitiveType == PrimitiveType.QUADS) {
+            final RasterVertex v4 = getRasterVertex(vertexBuffer, projectedVertices, vertexBuffer.getVertexIndex(primitiveType.getElement(primitive, 3)));
+            return new QuadRasterizer(v1, v2, v3, v4, textureBuffer);
+        } else {
+            return new TriangleRasterizer(v1, v2, v3, textureBuffer);
+        }
+    }
+
+    private static RasterVertex getRasterVertex(final VertexBuffer vertexBuffer, final float[] projectedVertices, final int index) {
+        final int projectedIndex = index * VertexBuffer.PROJECTED_STRIDE;
+        final int texCoordIndex = index * VertexBuffer.TEX_COORD_STRIDE;
+        return new RasterVertex(projectedVertices[projectedIndex], projectedVertices[projectedIndex + 1], projectedVertices[projectedIndex + 2], projectedVertices[projectedIndex + 3], vertexBuffer.getColors()[index], vertexBuffer.getTexCoords()[texCoordIndex], vertexBuffer.getTexCoords()[texCoordIndex + 1]);
+    }
+
+    // The render target keeps being written after the buffer is created, so it is never classified by scanning its current pixels
+    private static ImageBuffer createColorBuffer(final BufferedImage renderTarget) {
+        final int[] raster = ((DataBufferInt) renderTarget.getRaster().getDataBuffer()).getData();
+        return new ImageBuffer(raster, renderTarget.getWidth(), renderTarget.getHeight(), null, WrapMode.CLAMP, null, Opacity.TRANSLUCENT);
+    }
+
 }
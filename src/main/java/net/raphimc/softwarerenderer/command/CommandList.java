@@ -0,0 +1,152 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.command;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.data.RenderState;
+import net.raphimc.softwarerenderer.enums.CullFace;
+import net.raphimc.softwarerenderer.enums.PrimitiveType;
+import net.raphimc.softwarerenderer.primitives.Primitive;
+import net.raphimc.softwarerenderer.vertex.Mesh;
+import net.raphimc.softwarerenderer.vertex.Vertex;
+import net.raphimc.softwarerenderer.vertex.VertexBuffer;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CommandList {
+
+    private final List<DrawCommand> commands = new ArrayList<>();
+    private final Matrix4f identityMatrix = new Matrix4f();
+    private RenderState state = RenderState.DEFAULT;
+
+    public void draw2DPrimitives(final List<? extends Primitive> primitives) {
+        this.drawPrimitives(primitives, this.identityMatrix);
+    }
+
+    public void drawPrimitives(final List<? extends Primitive> primitives, final Matrix4f matrix) {
+        this.add(new PrimitivesCommand(primitives, new Matrix4f(matrix), this.state));
+    }
+
+    public void draw2DVertexBuffer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        this.drawVertexBuffer(vertexBuffer, primitiveType, textureBuffer, this.identityMatrix);
+    }
+
+    public void drawVertexBuffer(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer, final Matrix4f matrix) {
+        this.add(new VertexBufferCommand(vertexBuffer, primitiveType, textureBuffer, new Matrix4f(matrix), this.state));
+    }
+
+    public void draw2DMesh(final Mesh mesh) {
+        this.drawMesh(mesh, this.identityMatrix);
+    }
+
+    public void drawMesh(final Mesh mesh, final Matrix4f matrix) {
+        this.add(new MeshCommand(mesh, new Matrix4f(matrix), this.state));
+    }
+
+    public void draw2DIndexedPrimitives(final List<? extends Vertex> vertices, final int[] indices, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        this.drawIndexedPrimitives(vertices, indices, primitiveType, textureBuffer, this.identityMatrix);
+    }
+
+    public void drawIndexedPrimitives(final List<? extends Vertex> vertices, final int[] indices, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer, final Matrix4f matrix) {
+        this.add(new IndexedPrimitivesCommand(vertices, indices, primitiveType, textureBuffer, new Matrix4f(matrix), this.state));
+    }
+
+    public void add(final DrawCommand command) {
+        this.commands.add(command);
+    }
+
+    // Only runs of depth tested commands without blending are reordered, everything else depends on the submission order for blending and overdraw
+    public void sort() {
+        // Textures are numbered in the order they are first used, so the result does not depend on identity hash codes
+        final Map<ImageBuffer, Integer> textureIds = new IdentityHashMap<>();
+        for (DrawCommand command : this.commands) {
+            if (isSortable(command)) {
+                textureIds.putIfAbsent(command.textureBuffer(), textureIds.size());
+            }
+        }
+        final Comparator<DrawCommand> stateOrder = Comparator.<DrawCommand>comparingInt(command -> command.state().cullFace().ordinal())
+                .thenComparingInt(command -> textureIds.get(command.textureBuffer()));
+        int start = 0;
+        while (start < this.commands.size()) {
+            if (!isSortable(this.commands.get(start))) {
+                start++;
+                continue;
+            }
+            int end = start + 1;
+            while (end < this.commands.size() && isSortable(this.commands.get(end))) {
+                end++;
+            }
+            this.commands.subList(start, end).sort(stateOrder);
+            start = end;
+        }
+    }
+
+    public void clear() {
+        this.commands.clear();
+        this.state = RenderState.DEFAULT;
+    }
+
+    public List<DrawCommand> getCommands() {
+        return Collections.unmodifiableList(this.commands);
+    }
+
+    public int size() {
+        return this.commands.size();
+    }
+
+    public boolean isEmpty() {
+        return this.commands.isEmpty();
+    }
+
+    public void setState(final RenderState state) {
+        this.state = state;
+    }
+
+    public RenderState getState() {
+        return this.state;
+    }
+
+    public void setCullFace(final CullFace cullFace) {
+        this.state = this.state.withCullFace(cullFace);
+    }
+
+    public void setDepthEnabled(final boolean depthEnabled) {
+        this.state = this.state.withDepthEnabled(depthEnabled);
+    }
+
+    public void setClipRect(@Nullable final ClipRect clipRect) {
+        this.state = this.state.withClipRect(clipRect);
+    }
+
+    public void setWireframe(final boolean wireframe) {
+        this.state = this.state.withWireframe(wireframe);
+    }
+
+    private static boolean isSortable(final DrawCommand command) {
+        return command.state().depthEnabled() && !command.state().wireframe() && command.isOpaque();
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.command;
+
+import net.raphimc.softwarerenderer.SoftwareRenderer;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.data.RenderState;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+public interface DrawCommand {
+
+    Matrix4f matrix();
+
+    RenderState state();
+
+    @Nullable
+    ImageBuffer textureBuffer();
+
+    int execute(final SoftwareRenderer renderer);
+
+    // Only commands that are known to never blend may be reordered
+    default boolean isOpaque() {
+        return false;
+    }
+
+}
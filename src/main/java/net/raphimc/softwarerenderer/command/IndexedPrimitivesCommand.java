@@ -0,0 +1,51 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.command;
+
+import net.raphimc.softwarerenderer.SoftwareRenderer;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.data.RenderState;
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.enums.PrimitiveType;
+import net.raphimc.softwarerenderer.vertex.Vertex;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.List;
+
+public record IndexedPrimitivesCommand(List<? extends Vertex> vertices, int[] indices, PrimitiveType primitiveType, @Nullable ImageBuffer textureBuffer, Matrix4f matrix, RenderState state) implements DrawCommand {
+
+    @Override
+    public boolean isOpaque() {
+        if (this.textureBuffer == null || this.textureBuffer.opacity() == Opacity.TRANSLUCENT) {
+            return false;
+        }
+        for (Vertex vertex : this.vertices) {
+            if (!vertex.isOpaque()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int execute(final SoftwareRenderer renderer) {
+        return renderer.drawIndexedPrimitives(this.vertices, this.indices, this.primitiveType, this.textureBuffer, this.matrix);
+    }
+
+}
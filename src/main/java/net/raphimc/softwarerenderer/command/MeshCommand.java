@@ -0,0 +1,53 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.command;
+
+import net.raphimc.softwarerenderer.SoftwareRenderer;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.data.RenderState;
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.vertex.Mesh;
+import net.raphimc.softwarerenderer.vertex.MeshPart;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+public record MeshCommand(Mesh mesh, Matrix4f matrix, RenderState state) implements DrawCommand {
+
+    @Override
+    @Nullable
+    public ImageBuffer textureBuffer() {
+        return this.mesh.getParts().isEmpty() ? null : this.mesh.getParts().get(0).getTextureBuffer();
+    }
+
+    @Override
+    public boolean isOpaque() {
+        for (MeshPart part : this.mesh.getParts()) {
+            final ImageBuffer textureBuffer = part.getTextureBuffer();
+            if (textureBuffer == null || textureBuffer.opacity() == Opacity.TRANSLUCENT || !part.getVertexBuffer().hasOpaqueColors()) {
+                return false;
+            }
+        }
+        return !this.mesh.getParts().isEmpty();
+    }
+
+    @Override
+    public int execute(final SoftwareRenderer renderer) {
+        return renderer.drawMesh(this.mesh, this.matrix);
+    }
+
+}
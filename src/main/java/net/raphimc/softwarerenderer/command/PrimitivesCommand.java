@@ -0,0 +1,52 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.command;
+
+import net.raphimc.softwarerenderer.SoftwareRenderer;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.data.RenderState;
+import net.raphimc.softwarerenderer.primitives.Primitive;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.List;
+
+public record PrimitivesCommand(List<? extends Primitive> primitives, Matrix4f matrix, RenderState state) implements DrawCommand {
+
+    @Nullable
+    @Override
+    public ImageBuffer textureBuffer() {
+        return this.primitives.isEmpty() ? null : this.primitives.get(0).textureBuffer();
+    }
+
+    @Override
+    public boolean isOpaque() {
+        for (Primitive primitive : this.primitives) {
+            if (!primitive.isOpaque()) {
+                return false;
+            }
+        }
+        return !this.primitives.isEmpty();
+    }
+
+    @Override
+    public int execute(final SoftwareRenderer renderer) {
+        return renderer.drawPrimitives(this.primitives, this.matrix);
+    }
+
+}
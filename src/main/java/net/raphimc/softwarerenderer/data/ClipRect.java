@@ -17,5 +17,23 @@
  */
 package net.raphimc.softwarerenderer.data;
 
+import org.jetbrains.annotations.Nullable;
+
 public record ClipRect(int minX, int minY, int maxX, int maxY) {
+
+    @Nullable
+    public ClipRect intersect(@Nullable final ClipRect other) {
+        if (other == null) {
+            return this;
+        }
+        final int minX = Math.max(this.minX, other.minX);
+        final int minY = Math.max(this.minY, other.minY);
+        final int maxX = Math.min(this.maxX, other.maxX);
+        final int maxY = Math.min(this.maxY, other.maxY);
+        if (minX > maxX || minY > maxY) {
+            return null;
+        }
+        return new ClipRect(minX, minY, maxX, maxY);
+    }
+
 }
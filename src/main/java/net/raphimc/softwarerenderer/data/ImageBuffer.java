@@ -17,15 +17,102 @@
  */
 package net.raphimc.softwarerenderer.data;
 
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.enums.WrapMode;
 import net.raphimc.softwarerenderer.util.ImageUtil;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 
-public record ImageBuffer(int[] raster, int width, int height) {
+public record ImageBuffer(int[] raster, int width, int height, ImageBuffer @Nullable [] mipLevels, WrapMode wrapMode, int @Nullable [] tiledRaster, Opacity opacity) {
 
+    // The raster is used as is, so it has to hold premultiplied ARGB pixels
+    public ImageBuffer(final int[] raster, final int width, final int height) {
+        this(raster, width, height, null, WrapMode.CLAMP, null, ImageUtil.getOpacity(raster, width * height));
+    }
+
+    // Only TYPE_INT_ARGB_PRE images share their pixels with the buffer, any other type is converted into a copy that does not see later changes to the image
     public ImageBuffer(final BufferedImage image) {
-        this(((DataBufferInt) ImageUtil.ensureArgb(image).getRaster().getDataBuffer()).getData(), image.getWidth(), image.getHeight());
+        this(((DataBufferInt) ImageUtil.ensurePremultipliedArgb(image).getRaster().getDataBuffer()).getData(), image.getWidth(), image.getHeight());
+    }
+
+    public ImageBuffer withMipmaps() {
+        int levelCount = 1;
+        while ((this.width >> levelCount) > 0 || (this.height >> levelCount) > 0) {
+            levelCount++;
+        }
+        final ImageBuffer[] mipLevels = new ImageBuffer[levelCount];
+        mipLevels[0] = new ImageBuffer(this.raster, this.width, this.height, null, this.wrapMode, this.tiledRaster, this.opacity);
+        for (int level = 1; level < levelCount; level++) {
+            final ImageBuffer mipLevel = ImageUtil.downsample(mipLevels[level - 1]).withWrapMode(this.wrapMode);
+            mipLevels[level] = this.isTiled() ? mipLevel.withTiledLayout() : mipLevel;
+        }
+        return new ImageBuffer(this.raster, this.width, this.height, mipLevels, this.wrapMode, this.tiledRaster, this.opacity);
+    }
+
+    public ImageBuffer withWrapMode(final WrapMode wrapMode) {
+        ImageBuffer[] mipLevels = null;
+        if (this.mipLevels != null) {
+            mipLevels = new ImageBuffer[this.mipLevels.length];
+            for (int level = 0; level < mipLevels.length; level++) {
+                mipLevels[level] = this.mipLevels[level].withWrapMode(wrapMode);
+            }
+        }
+        return new ImageBuffer(this.raster, this.width, this.height, mipLevels, wrapMode, this.tiledRaster, this.opacity);
+    }
+
+    // The tiled raster is a copy of the raster at the time of this call, textured draws do not see later writes to the raster
+    public ImageBuffer withTiledLayout() {
+        final int[] tiledRaster = this.tiledRaster != null ? this.tiledRaster : ImageUtil.tile(this);
+        ImageBuffer[] mipLevels = null;
+        if (this.mipLevels != null) {
+            mipLevels = new ImageBuffer[this.mipLevels.length];
+            for (int level = 0; level < mipLevels.length; level++) {
+                final ImageBuffer mipLevel = this.mipLevels[level];
+                // The base level shares the raster of this buffer, so it shares the tiled copy as well
+                if (mipLevel.raster == this.raster) {
+                    mipLevels[level] = new ImageBuffer(mipLevel.raster, mipLevel.width, mipLevel.height, mipLevel.mipLevels, mipLevel.wrapMode, tiledRaster, mipLevel.opacity);
+                } else {
+                    mipLevels[level] = mipLevel.withTiledLayout();
+                }
+            }
+        }
+        return new ImageBuffer(this.raster, this.width, this.height, mipLevels, this.wrapMode, tiledRaster, this.opacity);
+    }
+
+    // The opacity is derived from the raster once when the buffer is created, so it has to be set again with this method after writing to the raster
+    public ImageBuffer withOpacity(final Opacity opacity) {
+        ImageBuffer[] mipLevels = null;
+        if (this.mipLevels != null) {
+            mipLevels = new ImageBuffer[this.mipLevels.length];
+            for (int level = 0; level < mipLevels.length; level++) {
+                final ImageBuffer mipLevel = this.mipLevels[level];
+                // Downsampled levels blend the texels of the level above, so they keep their own opacity if it is more conservative than the override
+                final Opacity levelOpacity = mipLevel.raster == this.raster || opacity.compareTo(mipLevel.opacity) > 0 ? opacity : mipLevel.opacity;
+                mipLevels[level] = new ImageBuffer(mipLevel.raster, mipLevel.width, mipLevel.height, mipLevel.mipLevels, mipLevel.wrapMode, mipLevel.tiledRaster, levelOpacity);
+            }
+        }
+        return new ImageBuffer(this.raster, this.width, this.height, mipLevels, this.wrapMode, this.tiledRaster, opacity);
+    }
+
+    public ImageBuffer getMipLevel(final int level) {
+        if (this.mipLevels == null) {
+            return this;
+        }
+        return this.mipLevels[Math.min(level, this.mipLevels.length - 1)];
+    }
+
+    public int getMipLevelCount() {
+        return this.mipLevels != null ? this.mipLevels.length : 1;
+    }
+
+    public boolean hasMipmaps() {
+        return this.mipLevels != null;
+    }
+
+    public boolean isTiled() {
+        return this.tiledRaster != null;
     }
 
 }
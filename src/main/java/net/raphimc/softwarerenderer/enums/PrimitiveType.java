@@ -0,0 +1,59 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.enums;
+
+public enum PrimitiveType {
+
+    TRIANGLES,
+    QUADS,
+    TRIANGLE_STRIP,
+    TRIANGLE_FAN,
+    ;
+
+    public int getPrimitiveCount(final int elementCount) {
+        return switch (this) {
+            case TRIANGLES -> {
+                if (elementCount % 3 != 0) {
+                    throw new IllegalArgumentException("Vertices must be a multiple of 3");
+                }
+                yield elementCount / 3;
+            }
+            case QUADS -> {
+                if (elementCount % 4 != 0) {
+                    throw new IllegalArgumentException("Vertices must be a multiple of 4");
+                }
+                yield elementCount / 4;
+            }
+            case TRIANGLE_STRIP, TRIANGLE_FAN -> Math.max(0, elementCount - 2);
+        };
+    }
+
+    public int getCornerCount() {
+        return this == QUADS ? 4 : 3;
+    }
+
+    public int getElement(final int primitive, final int corner) {
+        return switch (this) {
+            case TRIANGLES -> primitive * 3 + corner;
+            case QUADS -> primitive * 4 + corner;
+            case TRIANGLE_STRIP -> (primitive & 1) == 0 || corner == 2 ? primitive + corner : primitive + (corner ^ 1);
+            case TRIANGLE_FAN -> corner == 0 ? 0 : primitive + corner;
+        };
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.output;
+
+import net.raphimc.softwarerenderer.SoftwareRenderer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+public class FrameStreamer<R extends SoftwareRenderer> implements AutoCloseable {
+
+    private final FrameSink frameSink;
+    private final Executor executor;
+    private final List<R> renderers = new ArrayList<>();
+    private final CompletableFuture<?>[] pendingWrites;
+    private long frameIndex;
+    private R currentRenderer;
+
+    public FrameStreamer(final BiFunction<Integer, Integer, R> rendererSupplier, final int width, final int height, final FrameSink frameSink, final Executor executor) {
+        this(rendererSupplier, width, height, frameSink, executor, 2);
+    }
+
+    // Every buffer is a separate renderer, so the next frames are rendered while the previous ones are still being written by the executor
+    public FrameStreamer(final BiFunction<Integer, Integer, R> rendererSupplier, final int width, final int height, final FrameSink frameSink, final Executor executor, final int bufferCount) {
+        if (bufferCount < 1) {
+            throw new IllegalArgumentException("Buffer count must be at least 1");
+        }
+        // Up to one write per buffer runs at the same time, which would otherwise land in the same slot of a mapped sink
+        if (frameSink instanceof MappedFrameSink mappedFrameSink && mappedFrameSink.getSlotCount() < bufferCount) {
+            throw new IllegalArgumentException("Slot count " + mappedFrameSink.getSlotCount() + " of the frame sink must be at least the buffer count " + bufferCount);
+        }
+        this.frameSink = frameSink;
+        this.executor = executor;
+        this.pendingWrites = new CompletableFuture<?>[bufferCount];
+        for (int i = 0; i < bufferCount; i++) {
+            this.renderers.add(rendererSupplier.apply(width, height));
+            this.pendingWrites[i] = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    public R beginFrame() {
+        if (this.currentRenderer != null) {
+            throw new IllegalStateException("The previous frame has not been ended");
+        }
+        final int buffer = (int) (this.frameIndex % this.renderers.size());
+        // Waits for the write of the frame that last used this buffer, which also rethrows its failure
+        this.pendingWrites[buffer].join();
+        this.currentRenderer = this.renderers.get(buffer);
+        return this.currentRenderer;
+    }
+
+    public void endFrame() {
+        if (this.currentRenderer == null) {
+            throw new IllegalStateException("No frame has been begun");
+        }
+        final int buffer = (int) (this.frameIndex % this.renderers.size());
+        final R renderer = this.currentRenderer;
+        final long frameIndex = this.frameIndex++;
+        this.currentRenderer = null;
+        this.pendingWrites[buffer] = CompletableFuture.runAsync(() -> {
+            try {
+                this.frameSink.write(renderer.getColorBuffer(), frameIndex);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.executor);
+    }
+
+    public void flush() {
+        CompletableFuture.allOf(this.pendingWrites).join();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.frameSink.close();
+        }
+    }
+
+    public List<R> getRenderers() {
+        return this.renderers;
+    }
+
+    public long getFrameIndex() {
+        return this.frameIndex;
+    }
+
+}
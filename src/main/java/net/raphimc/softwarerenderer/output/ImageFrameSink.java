@@ -0,0 +1,81 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.output;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.ImageFormat;
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import net.raphimc.softwarerenderer.util.QoiEncoder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.LongFunction;
+
+public class ImageFrameSink implements FrameSink {
+
+    private final ImageFormat format;
+    private final LongFunction<Path> pathFunction;
+    // Each encoder thread converts frames into its own image, so several frames can be encoded at once
+    private final ThreadLocal<BufferedImage> straightAlphaImages = new ThreadLocal<>();
+
+    public ImageFrameSink(final ImageFormat format, final LongFunction<Path> pathFunction) {
+        this.format = format;
+        this.pathFunction = pathFunction;
+    }
+
+    @Override
+    public void write(final ImageBuffer frame, final long frameIndex) throws IOException {
+        BufferedImage image = this.straightAlphaImages.get();
+        if (image == null || image.getWidth() != frame.width() || image.getHeight() != frame.height()) {
+            image = new BufferedImage(frame.width(), frame.height(), BufferedImage.TYPE_INT_ARGB);
+            this.straightAlphaImages.set(image);
+        }
+        final int[] source = frame.raster();
+        final int[] raster = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < raster.length; i++) {
+            raster[i] = ColorMixer.unpremultiply(source[i]);
+        }
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(this.pathFunction.apply(frameIndex)))) {
+            switch (this.format) {
+                case PNG -> {
+                    if (!ImageIO.write(image, "png", outputStream)) {
+                        throw new IOException("No PNG writer available");
+                    }
+                }
+                case QOI -> QoiEncoder.encode(raster, frame.width(), frame.height(), outputStream);
+                default -> throw new IllegalStateException("Unexpected image format: " + this.format);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public ImageFormat getFormat() {
+        return this.format;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.output;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedFrameSink implements FrameSink {
+
+    public static final int MAGIC = 0x53524652;
+    public static final int HEADER_SIZE = 32;
+    public static final int SLOT_HEADER_SIZE = 8;
+
+    private final FileChannel channel;
+    private final int width;
+    private final int height;
+    private final int slotCount;
+    private final Object[] slotLocks;
+    private final LongBuffer[] slotHeaders;
+    private final IntBuffer[] slotPixels;
+    private MappedByteBuffer header;
+    private long latestFrameIndex = -1;
+
+    // The file starts with a header of magic, width, height, slot count and the index of the latest complete frame, followed by the slots
+    // Each slot holds the index of the frame it contains and its premultiplied ARGB pixels, all little endian
+    public MappedFrameSink(final Path file, final int width, final int height, final int slotCount) throws IOException {
+        if (slotCount < 1) {
+            throw new IllegalArgumentException("Slot count must be at least 1");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.width = width;
+        this.height = height;
+        this.slotCount = slotCount;
+        try {
+            this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            this.header.order(ByteOrder.LITTLE_ENDIAN);
+            this.header.putInt(0, MAGIC).putInt(4, width).putInt(8, height).putInt(12, slotCount).putLong(16, this.latestFrameIndex);
+
+            // Every slot is mapped on its own, so the file can grow past the 2 GiB limit of a single mapping
+            final long slotSize = SLOT_HEADER_SIZE + (long) width * height * Integer.BYTES;
+            this.slotLocks = new Object[slotCount];
+            this.slotHeaders = new LongBuffer[slotCount];
+            this.slotPixels = new IntBuffer[slotCount];
+            for (int slot = 0; slot < slotCount; slot++) {
+                this.slotLocks[slot] = new Object();
+                final MappedByteBuffer slotBuffer = this.channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + slot * slotSize, slotSize);
+                slotBuffer.order(ByteOrder.LITTLE_ENDIAN);
+                this.slotHeaders[slot] = slotBuffer.slice(0, SLOT_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+                this.slotHeaders[slot].put(0, -1);
+                this.slotPixels[slot] = slotBuffer.slice(SLOT_HEADER_SIZE, (int) (slotSize - SLOT_HEADER_SIZE)).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(final ImageBuffer frame, final long frameIndex) throws IOException {
+        if (frame.width() != this.width || frame.height() != this.height) {
+            throw new IllegalArgumentException("Frame size " + frame.width() + "x" + frame.height() + " does not match the sink size " + this.width + "x" + this.height);
+        }
+        final int slot = (int) (frameIndex % this.slotCount);
+        // Frames sharing a slot are written one after another, a frame that is older than the one already in the slot is dropped
+        synchronized (this.slotLocks[slot]) {
+            final LongBuffer slotHeader = this.slotHeaders[slot];
+            if (slotHeader == null) {
+                throw new ClosedChannelException();
+            }
+            if (slotHeader.get(0) > frameIndex) {
+                return;
+            }
+            slotHeader.put(0, -1);
+            this.slotPixels[slot].put(0, frame.raster(), 0, this.width * this.height);
+            slotHeader.put(0, frameIndex);
+        }
+        synchronized (this) {
+            if (this.header != null && frameIndex > this.latestFrameIndex) {
+                this.latestFrameIndex = frameIndex;
+                this.header.putLong(16, frameIndex);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Mappings can not be released explicitly, dropping every reference to them lets the garbage collector unmap them
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            synchronized (this.slotLocks[slot]) {
+                this.slotHeaders[slot] = null;
+                this.slotPixels[slot] = null;
+            }
+        }
+        synchronized (this) {
+            this.header = null;
+        }
+        this.channel.close();
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getSlotCount() {
+        return this.slotCount;
+    }
+
+}
@@ -17,11 +17,28 @@
  */
 package net.raphimc.softwarerenderer.primitives;
 
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.rasterizer.Clipper;
 import net.raphimc.softwarerenderer.rasterizer.Rasterizer;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Matrix4f;
 
 public interface Primitive {
 
     Rasterizer createRasterizer(final Matrix4f matrix);
 
+    default Rasterizer createRasterizer(final Matrix4f matrix, final Clipper clipper) {
+        return this.createRasterizer(matrix);
+    }
+
+    @Nullable
+    default ImageBuffer textureBuffer() {
+        return null;
+    }
+
+    // Only primitives that are known to never blend may be reordered
+    default boolean isOpaque() {
+        return false;
+    }
+
 }
@@ -18,6 +18,8 @@
 package net.raphimc.softwarerenderer.primitives;
 
 import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.rasterizer.Clipper;
 import net.raphimc.softwarerenderer.rasterizer.QuadRasterizer;
 import net.raphimc.softwarerenderer.rasterizer.Rasterizer;
 import net.raphimc.softwarerenderer.vertex.RasterVertex;
@@ -36,4 +38,18 @@ public record Quad(Vertex v1, Vertex v2, Vertex v3, Vertex v4, @Nullable ImageBu
         return new QuadRasterizer(rv1, rv2, rv3, rv4, this.textureBuffer);
     }
 
+    @Override
+    public Rasterizer createRasterizer(final Matrix4f matrix, final Clipper clipper) {
+        final RasterVertex rv1 = this.v1.transform(matrix);
+        final RasterVertex rv2 = this.v2.transform(matrix);
+        final RasterVertex rv3 = this.v3.transform(matrix);
+        final RasterVertex rv4 = this.v4.transform(matrix);
+        return clipper.clipQuad(rv1, rv2, rv3, rv4, this.textureBuffer);
+    }
+
+    @Override
+    public boolean isOpaque() {
+        return this.textureBuffer != null && this.textureBuffer.opacity() != Opacity.TRANSLUCENT && this.v1.isOpaque() && this.v2.isOpaque() && this.v3.isOpaque() && this.v4.isOpaque();
+    }
+
 }
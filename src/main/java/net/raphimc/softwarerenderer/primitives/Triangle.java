@@ -18,6 +18,8 @@
 package net.raphimc.softwarerenderer.primitives;
 
 import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.rasterizer.Clipper;
 import net.raphimc.softwarerenderer.rasterizer.Rasterizer;
 import net.raphimc.softwarerenderer.rasterizer.TriangleRasterizer;
 import net.raphimc.softwarerenderer.vertex.Vertex;
@@ -31,4 +33,14 @@ public record Triangle(Vertex v1, Vertex v2, Vertex v3, @Nullable ImageBuffer te
         return new TriangleRasterizer(this.v1.project(matrix), this.v2.project(matrix), this.v3.project(matrix), this.textureBuffer);
     }
 
+    @Override
+    public Rasterizer createRasterizer(final Matrix4f matrix, final Clipper clipper) {
+        return clipper.clipTriangle(this.v1.transform(matrix), this.v2.transform(matrix), this.v3.transform(matrix), this.textureBuffer);
+    }
+
+    @Override
+    public boolean isOpaque() {
+        return this.textureBuffer != null && this.textureBuffer.opacity() != Opacity.TRANSLUCENT && this.v1.isOpaque() && this.v2.isOpaque() && this.v3.isOpaque();
+    }
+
 }
@@ -0,0 +1,241 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import net.raphimc.softwarerenderer.vertex.RasterVertex;
+import org.jetbrains.annotations.Nullable;
+
+public class Clipper {
+
+    public static final float DEFAULT_NEAR_W = 1E-5F;
+    public static final float GUARD_BAND = 1 << 19;
+
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int TOP = 1 << 2;
+    public static final int BOTTOM = 1 << 3;
+    public static final int NEAR = 1 << 4;
+    public static final int OUTSIDE_GUARD_BAND = 1 << 5;
+    private static final int REJECT_MASK = LEFT | RIGHT | TOP | BOTTOM | NEAR;
+    private static final int CLIP_MASK = NEAR | OUTSIDE_GUARD_BAND;
+
+    private final int width;
+    private final int height;
+    private float nearW = DEFAULT_NEAR_W;
+
+    public Clipper(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public Rasterizer clipTriangle(final RasterVertex v1, final RasterVertex v2, final RasterVertex v3, @Nullable final ImageBuffer textureBuffer) {
+        final int outcode1 = this.getOutcode(v1);
+        final int outcode2 = this.getOutcode(v2);
+        final int outcode3 = this.getOutcode(v3);
+        if (isRejected(outcode1 & outcode2 & outcode3)) {
+            return PolygonRasterizer.EMPTY;
+        }
+        if (!needsClipping(outcode1 | outcode2 | outcode3)) {
+            return new TriangleRasterizer(project(v1), project(v2), project(v3), textureBuffer);
+        }
+        return new PolygonRasterizer(this.clipPolygon(v1, v2, v3), textureBuffer);
+    }
+
+    public Rasterizer clipQuad(final RasterVertex v1, final RasterVertex v2, final RasterVertex v3, final RasterVertex v4, @Nullable final ImageBuffer textureBuffer) {
+        final int outcode1 = this.getOutcode(v1);
+        final int outcode2 = this.getOutcode(v2);
+        final int outcode3 = this.getOutcode(v3);
+        final int outcode4 = this.getOutcode(v4);
+        if (isRejected(outcode1 & outcode2 & outcode3 & outcode4)) {
+            return PolygonRasterizer.EMPTY;
+        }
+        if (!needsClipping(outcode1 | outcode2 | outcode3 | outcode4)) {
+            return new QuadRasterizer(project(v1), project(v2), project(v3), project(v4), textureBuffer);
+        }
+        return new PolygonRasterizer(this.clipPolygon(v1, v2, v3, v4), textureBuffer);
+    }
+
+    public Rasterizer clipLine(final RasterVertex v1, final RasterVertex v2) {
+        final int outcode1 = this.getOutcode(v1);
+        final int outcode2 = this.getOutcode(v2);
+        if (isRejected(outcode1 & outcode2)) {
+            return PolygonRasterizer.EMPTY;
+        }
+        if (!needsClipping(outcode1 | outcode2)) {
+            return new LineRasterizer(project(v1), project(v2));
+        }
+        final float[] range = {0F, 1F};
+        if (!clipLineAgainstPlane(v1, v2, range, 0F, 0F, 1F, -this.nearW)
+                || !clipLineAgainstPlane(v1, v2, range, 1F, 0F, GUARD_BAND, 0F)
+                || !clipLineAgainstPlane(v1, v2, range, -1F, 0F, GUARD_BAND, 0F)
+                || !clipLineAgainstPlane(v1, v2, range, 0F, 1F, GUARD_BAND, 0F)
+                || !clipLineAgainstPlane(v1, v2, range, 0F, -1F, GUARD_BAND, 0F)) {
+            return PolygonRasterizer.EMPTY;
+        }
+        return new LineRasterizer(project(lerp(v1, v2, range[0])), project(lerp(v1, v2, range[1])));
+    }
+
+    public RasterVertex[] clipPolygon(final RasterVertex... vertices) {
+        RasterVertex[] polygon = clipAgainstPlane(vertices, 0F, 0F, 1F, -this.nearW);
+        polygon = clipAgainstPlane(polygon, 1F, 0F, GUARD_BAND, 0F);
+        polygon = clipAgainstPlane(polygon, -1F, 0F, GUARD_BAND, 0F);
+        polygon = clipAgainstPlane(polygon, 0F, 1F, GUARD_BAND, 0F);
+        polygon = clipAgainstPlane(polygon, 0F, -1F, GUARD_BAND, 0F);
+        for (int i = 0; i < polygon.length; i++) {
+            polygon[i] = project(polygon[i]);
+        }
+        return polygon;
+    }
+
+    public int getOutcode(final RasterVertex vertex) {
+        return this.getOutcode(vertex.x(), vertex.y(), vertex.w());
+    }
+
+    public int getOutcode(final float x, final float y, final float w) {
+        int outcode = 0;
+        if (x < 0F) {
+            outcode |= LEFT;
+        } else if (x > this.width * w) {
+            outcode |= RIGHT;
+        }
+        if (y < 0F) {
+            outcode |= TOP;
+        } else if (y > this.height * w) {
+            outcode |= BOTTOM;
+        }
+        if (!(w >= this.nearW)) {
+            outcode |= NEAR;
+        }
+        final float guardBand = GUARD_BAND * w;
+        if (x < -guardBand || x > guardBand || y < -guardBand || y > guardBand) {
+            outcode |= OUTSIDE_GUARD_BAND;
+        }
+        return outcode;
+    }
+
+    public int getProjectedOutcode(final float x, final float y, final float w) {
+        if (!(w >= this.nearW)) {
+            return NEAR;
+        }
+        int outcode = 0;
+        if (x < 0F) {
+            outcode |= LEFT;
+        } else if (x > this.width) {
+            outcode |= RIGHT;
+        }
+        if (y < 0F) {
+            outcode |= TOP;
+        } else if (y > this.height) {
+            outcode |= BOTTOM;
+        }
+        if (x < -GUARD_BAND || x > GUARD_BAND || y < -GUARD_BAND || y > GUARD_BAND) {
+            outcode |= OUTSIDE_GUARD_BAND;
+        }
+        return outcode;
+    }
+
+    public void setNearW(final float nearW) {
+        this.nearW = nearW;
+    }
+
+    public float getNearW() {
+        return this.nearW;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public static boolean isRejected(final int commonOutcodes) {
+        return (commonOutcodes & REJECT_MASK) != 0;
+    }
+
+    public static boolean needsClipping(final int combinedOutcodes) {
+        return (combinedOutcodes & CLIP_MASK) != 0;
+    }
+
+    public static RasterVertex project(final RasterVertex vertex) {
+        return new RasterVertex(vertex.x() / vertex.w(), vertex.y() / vertex.w(), vertex.z() / vertex.w(), vertex.w(), vertex.c(), vertex.u(), vertex.v());
+    }
+
+    // Keeps the part of the polygon where a * x + b * y + c * w + d >= 0
+    private static RasterVertex[] clipAgainstPlane(final RasterVertex[] polygon, final float a, final float b, final float c, final float d) {
+        if (polygon.length == 0) {
+            return polygon;
+        }
+        // Every edge adds at most one intersection, which is also enough for non convex input such as a non planar quad crossing the plane twice
+        final RasterVertex[] clipped = new RasterVertex[polygon.length * 2];
+        int size = 0;
+        RasterVertex previous = polygon[polygon.length - 1];
+        float previousDistance = a * previous.x() + b * previous.y() + c * previous.w() + d;
+        for (RasterVertex current : polygon) {
+            final float currentDistance = a * current.x() + b * current.y() + c * current.w() + d;
+            if ((previousDistance >= 0F) != (currentDistance >= 0F)) {
+                clipped[size++] = lerp(previous, current, previousDistance / (previousDistance - currentDistance));
+            }
+            if (currentDistance >= 0F) {
+                clipped[size++] = current;
+            }
+            previous = current;
+            previousDistance = currentDistance;
+        }
+        if (size < 3) {
+            return new RasterVertex[0];
+        }
+        if (size == clipped.length) {
+            return clipped;
+        }
+        final RasterVertex[] result = new RasterVertex[size];
+        System.arraycopy(clipped, 0, result, 0, size);
+        return result;
+    }
+
+    // Narrows the parametric range of the line to where a * x + b * y + c * w + d >= 0
+    private static boolean clipLineAgainstPlane(final RasterVertex v1, final RasterVertex v2, final float[] range, final float a, final float b, final float c, final float d) {
+        final float distance1 = a * v1.x() + b * v1.y() + c * v1.w() + d;
+        final float distance2 = a * v2.x() + b * v2.y() + c * v2.w() + d;
+        if (distance1 < 0F && distance2 < 0F) {
+            return false;
+        }
+        if (distance1 < 0F) {
+            range[0] = Math.max(range[0], distance1 / (distance1 - distance2));
+        } else if (distance2 < 0F) {
+            range[1] = Math.min(range[1], distance1 / (distance1 - distance2));
+        }
+        return range[0] <= range[1];
+    }
+
+    private static RasterVertex lerp(final RasterVertex v1, final RasterVertex v2, final float t) {
+        return new RasterVertex(
+                v1.x() + (v2.x() - v1.x()) * t,
+                v1.y() + (v2.y() - v1.y()) * t,
+                v1.z() + (v2.z() - v1.z()) * t,
+                v1.w() + (v2.w() - v1.w()) * t,
+                ColorMixer.lerp(v1.c(), v2.c(), t),
+                v1.u() + (v2.u() - v1.u()) * t,
+                v1.v() + (v2.v() - v1.v()) * t
+        );
+    }
+
+}
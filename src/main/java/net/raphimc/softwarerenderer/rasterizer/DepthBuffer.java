@@ -0,0 +1,153 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+public class DepthBuffer {
+
+    public static final int TILE_SIZE = HierarchicalDepthBuffer.TILE_SIZE;
+    private static final VarHandle TILE_EPOCHS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private float[] raster;
+    private int width;
+    private int height;
+    private int tilesX;
+    private int[] tileEpochs;
+    private int epoch;
+    private float clearDepth;
+
+    public DepthBuffer(final int width, final int height) {
+        this.raster = new float[width * height];
+        this.width = width;
+        this.height = height;
+        this.tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tileEpochs = new int[this.tilesX * ((height + TILE_SIZE - 1) / TILE_SIZE)];
+        this.clear(Float.MAX_VALUE);
+    }
+
+    // Tiles of a resized buffer are reset to an epoch that is never current, so they are cleared before their first use
+    public void resize(final int width, final int height) {
+        final int tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        final int tileCount = tilesX * ((height + TILE_SIZE - 1) / TILE_SIZE);
+        if (this.raster.length < width * height) {
+            this.raster = new float[Math.max(width * height, this.raster.length + (this.raster.length >> 1))];
+        }
+        if (this.tileEpochs.length < tileCount) {
+            this.tileEpochs = new int[Math.max(tileCount, this.tileEpochs.length + (this.tileEpochs.length >> 1))];
+        } else {
+            Arrays.fill(this.tileEpochs, 0, tileCount, 0);
+        }
+        this.width = width;
+        this.height = height;
+        this.tilesX = tilesX;
+    }
+
+    // Clearing only starts a new epoch, tiles are filled with the clear depth the first time they are touched afterwards
+    public void clear(final float depth) {
+        if (this.epoch == Integer.MAX_VALUE) {
+            this.epoch = 0;
+            Arrays.fill(this.tileEpochs, 0);
+        }
+        this.epoch++;
+        this.clearDepth = depth;
+    }
+
+    public void clear(final ClipRect rect, final float depth) {
+        final int minX = Math.max(rect.minX(), 0);
+        final int minY = Math.max(rect.minY(), 0);
+        final int maxX = Math.min(rect.maxX(), this.width - 1);
+        final int maxY = Math.min(rect.maxY(), this.height - 1);
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+        this.prepare(minX, minY, maxX, maxY, null);
+        for (int y = minY; y <= maxY; y++) {
+            Arrays.fill(this.raster, y * this.width + minX, y * this.width + maxX + 1, depth);
+        }
+    }
+
+    public void prepare(final int minX, final int minY, final int maxX, final int maxY, @Nullable final ClipRect clipRect) {
+        int clampedMinX = Math.max(minX, 0);
+        int clampedMinY = Math.max(minY, 0);
+        int clampedMaxX = Math.min(maxX, this.width - 1);
+        int clampedMaxY = Math.min(maxY, this.height - 1);
+        if (clipRect != null) {
+            clampedMinX = Math.max(clampedMinX, clipRect.minX());
+            clampedMinY = Math.max(clampedMinY, clipRect.minY());
+            clampedMaxX = Math.min(clampedMaxX, clipRect.maxX());
+            clampedMaxY = Math.min(clampedMaxY, clipRect.maxY());
+        }
+        if (clampedMinX > clampedMaxX || clampedMinY > clampedMaxY) {
+            return;
+        }
+        final int epoch = this.epoch;
+        for (int tileY = clampedMinY / TILE_SIZE; tileY <= clampedMaxY / TILE_SIZE; tileY++) {
+            for (int tileX = clampedMinX / TILE_SIZE; tileX <= clampedMaxX / TILE_SIZE; tileX++) {
+                final int tile = tileY * this.tilesX + tileX;
+                if ((int) TILE_EPOCHS.getAcquire(this.tileEpochs, tile) != epoch) {
+                    this.clearTile(tileX, tileY);
+                }
+            }
+        }
+    }
+
+    public void prepareAll() {
+        this.prepare(0, 0, this.width - 1, this.height - 1, null);
+    }
+
+    public boolean isTileCleared(final int tileX, final int tileY) {
+        return (int) TILE_EPOCHS.getAcquire(this.tileEpochs, tileY * this.tilesX + tileX) != this.epoch;
+    }
+
+    public float[] raster() {
+        return this.raster;
+    }
+
+    public int width() {
+        return this.width;
+    }
+
+    public int height() {
+        return this.height;
+    }
+
+    public float getClearDepth() {
+        return this.clearDepth;
+    }
+
+    private synchronized void clearTile(final int tileX, final int tileY) {
+        final int tile = tileY * this.tilesX + tileX;
+        if (this.tileEpochs[tile] == this.epoch) {
+            return;
+        }
+        final int minX = tileX * TILE_SIZE;
+        final int maxX = Math.min(minX + TILE_SIZE, this.width);
+        final int maxY = Math.min((tileY + 1) * TILE_SIZE, this.height);
+        for (int y = tileY * TILE_SIZE; y < maxY; y++) {
+            Arrays.fill(this.raster, y * this.width + minX, y * this.width + maxX, this.clearDepth);
+        }
+        TILE_EPOCHS.setRelease(this.tileEpochs, tile, this.epoch);
+    }
+
+}
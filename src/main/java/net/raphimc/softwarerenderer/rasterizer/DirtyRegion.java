@@ -0,0 +1,108 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DirtyRegion {
+
+    public static final int MAX_RECTS = 16;
+
+    private final int width;
+    private final int height;
+    private final List<ClipRect> rects = new ArrayList<>();
+    private final List<ClipRect> unmodifiableRects = Collections.unmodifiableList(this.rects);
+
+    public DirtyRegion(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public void add(final ClipRect rect) {
+        this.add(rect.minX(), rect.minY(), rect.maxX(), rect.maxY(), null);
+    }
+
+    public void add(final int minX, final int minY, final int maxX, final int maxY, @Nullable final ClipRect clipRect) {
+        int clampedMinX = Math.max(minX, 0);
+        int clampedMinY = Math.max(minY, 0);
+        int clampedMaxX = Math.min(maxX, this.width - 1);
+        int clampedMaxY = Math.min(maxY, this.height - 1);
+        if (clipRect != null) {
+            clampedMinX = Math.max(clampedMinX, clipRect.minX());
+            clampedMinY = Math.max(clampedMinY, clipRect.minY());
+            clampedMaxX = Math.min(clampedMaxX, clipRect.maxX());
+            clampedMaxY = Math.min(clampedMaxY, clipRect.maxY());
+        }
+        if (clampedMinX > clampedMaxX || clampedMinY > clampedMaxY) {
+            return;
+        }
+
+        ClipRect rect = new ClipRect(clampedMinX, clampedMinY, clampedMaxX, clampedMaxY);
+        // Overlapping or touching rects are merged, so repeated damage of the same area does not grow the list
+        for (int i = 0; i < this.rects.size(); i++) {
+            final ClipRect other = this.rects.get(i);
+            if (rect.minX() <= other.maxX() + 1 && other.minX() <= rect.maxX() + 1 && rect.minY() <= other.maxY() + 1 && other.minY() <= rect.maxY() + 1) {
+                rect = union(rect, other);
+                this.rects.remove(i);
+                i = -1;
+            }
+        }
+        this.rects.add(rect);
+        if (this.rects.size() > MAX_RECTS) {
+            final ClipRect bounds = this.getBounds();
+            this.rects.clear();
+            this.rects.add(bounds);
+        }
+    }
+
+    public void addAll() {
+        this.rects.clear();
+        this.rects.add(new ClipRect(0, 0, this.width - 1, this.height - 1));
+    }
+
+    public void clear() {
+        this.rects.clear();
+    }
+
+    public boolean isEmpty() {
+        return this.rects.isEmpty();
+    }
+
+    public List<ClipRect> getRects() {
+        return this.unmodifiableRects;
+    }
+
+    @Nullable
+    public ClipRect getBounds() {
+        ClipRect bounds = null;
+        for (ClipRect rect : this.rects) {
+            bounds = bounds == null ? rect : union(bounds, rect);
+        }
+        return bounds;
+    }
+
+    private static ClipRect union(final ClipRect a, final ClipRect b) {
+        return new ClipRect(Math.min(a.minX(), b.minX()), Math.min(a.minY(), b.minY()), Math.max(a.maxX(), b.maxX()), Math.max(a.maxY(), b.maxY()));
+    }
+
+}
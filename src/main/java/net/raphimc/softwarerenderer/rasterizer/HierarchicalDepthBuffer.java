@@ -0,0 +1,182 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+public class HierarchicalDepthBuffer {
+
+    public static final int TILE_SIZE = 8;
+
+    private final DepthBuffer depthBuffer;
+    private final int width;
+    private final int height;
+    private final int tilesX;
+    private final int tilesY;
+    private final float[] tileMaxDepths;
+    private final boolean[] dirtyTiles;
+
+    public HierarchicalDepthBuffer(final DepthBuffer depthBuffer) {
+        this.depthBuffer = depthBuffer;
+        this.width = depthBuffer.width();
+        this.height = depthBuffer.height();
+        this.tilesX = (this.width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tilesY = (this.height + TILE_SIZE - 1) / TILE_SIZE;
+        this.tileMaxDepths = new float[this.tilesX * this.tilesY];
+        this.dirtyTiles = new boolean[this.tilesX * this.tilesY];
+        this.invalidate();
+    }
+
+    public void rasterize(final Rasterizer rasterizer, final ImageBuffer colorBuffer, @Nullable final ClipRect clipRect) {
+        final ClipRect bounds = rasterizer.getBounds();
+        if (!this.isOccluded(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), clipRect, rasterizer.getMinDepth())) {
+            rasterizer.rasterize(colorBuffer, this.depthBuffer.raster(), clipRect);
+            this.markDirty(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY(), clipRect);
+        }
+    }
+
+    public boolean isOccluded(final int minX, final int minY, final int maxX, final int maxY, @Nullable final ClipRect clipRect, final float minDepth) {
+        int clampedMinX = Math.max(minX, 0);
+        int clampedMinY = Math.max(minY, 0);
+        int clampedMaxX = Math.min(maxX, this.width - 1);
+        int clampedMaxY = Math.min(maxY, this.height - 1);
+        if (clipRect != null) {
+            clampedMinX = Math.max(clampedMinX, clipRect.minX());
+            clampedMinY = Math.max(clampedMinY, clipRect.minY());
+            clampedMaxX = Math.min(clampedMaxX, clipRect.maxX());
+            clampedMaxY = Math.min(clampedMaxY, clipRect.maxY());
+        }
+        if (clampedMinX > clampedMaxX || clampedMinY > clampedMaxY) {
+            return true;
+        }
+        for (int tileY = clampedMinY / TILE_SIZE; tileY <= clampedMaxY / TILE_SIZE; tileY++) {
+            for (int tileX = clampedMinX / TILE_SIZE; tileX <= clampedMaxX / TILE_SIZE; tileX++) {
+                final int tile = tileY * this.tilesX + tileX;
+                if (!(this.tileMaxDepths[tile] <= minDepth)) {
+                    if (!this.dirtyTiles[tile]) {
+                        return false;
+                    }
+                    this.updateTile(tileX, tileY);
+                    if (!(this.tileMaxDepths[tile] <= minDepth)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    public void markDirty(final int minX, final int minY, final int maxX, final int maxY, @Nullable final ClipRect clipRect) {
+        int clampedMinX = Math.max(minX, 0);
+        int clampedMinY = Math.max(minY, 0);
+        int clampedMaxX = Math.min(maxX, this.width - 1);
+        int clampedMaxY = Math.min(maxY, this.height - 1);
+        if (clipRect != null) {
+            clampedMinX = Math.max(clampedMinX, clipRect.minX());
+            clampedMinY = Math.max(clampedMinY, clipRect.minY());
+            clampedMaxX = Math.min(clampedMaxX, clipRect.maxX());
+            clampedMaxY = Math.min(clampedMaxY, clipRect.maxY());
+        }
+        for (int tileY = clampedMinY / TILE_SIZE; tileY <= clampedMaxY / TILE_SIZE; tileY++) {
+            for (int tileX = clampedMinX / TILE_SIZE; tileX <= clampedMaxX / TILE_SIZE; tileX++) {
+                this.dirtyTiles[tileY * this.tilesX + tileX] = true;
+            }
+        }
+    }
+
+    public void clear(final float depth) {
+        Arrays.fill(this.tileMaxDepths, depth);
+        Arrays.fill(this.dirtyTiles, false);
+    }
+
+    public void clear(final ClipRect rect, final float depth) {
+        final int minX = Math.max(rect.minX(), 0);
+        final int minY = Math.max(rect.minY(), 0);
+        final int maxX = Math.min(rect.maxX(), this.width - 1);
+        final int maxY = Math.min(rect.maxY(), this.height - 1);
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+        for (int tileY = minY / TILE_SIZE; tileY <= maxY / TILE_SIZE; tileY++) {
+            for (int tileX = minX / TILE_SIZE; tileX <= maxX / TILE_SIZE; tileX++) {
+                final int tile = tileY * this.tilesX + tileX;
+                final int tileMinX = tileX * TILE_SIZE;
+                final int tileMinY = tileY * TILE_SIZE;
+                if (tileMinX >= minX && tileMinY >= minY && Math.min(tileMinX + TILE_SIZE, this.width) - 1 <= maxX && Math.min(tileMinY + TILE_SIZE, this.height) - 1 <= maxY) {
+                    this.tileMaxDepths[tile] = depth;
+                    this.dirtyTiles[tile] = false;
+                } else {
+                    // Partially cleared tiles keep a conservative maximum until they are recomputed
+                    this.tileMaxDepths[tile] = Math.max(this.tileMaxDepths[tile], depth);
+                    this.dirtyTiles[tile] = true;
+                }
+            }
+        }
+    }
+
+    public void invalidate() {
+        Arrays.fill(this.tileMaxDepths, Float.POSITIVE_INFINITY);
+        Arrays.fill(this.dirtyTiles, true);
+    }
+
+    public float getTileMaxDepth(final int tileX, final int tileY) {
+        final int tile = tileY * this.tilesX + tileX;
+        if (this.dirtyTiles[tile]) {
+            this.updateTile(tileX, tileY);
+        }
+        return this.tileMaxDepths[tile];
+    }
+
+    public int getTilesX() {
+        return this.tilesX;
+    }
+
+    public int getTilesY() {
+        return this.tilesY;
+    }
+
+    // Depth values only decrease until the next clear, so a maximum computed at any earlier point (even while other tiles are being written) stays an upper bound
+    private void updateTile(final int tileX, final int tileY) {
+        final int tile = tileY * this.tilesX + tileX;
+        // Tiles that were not touched since the last lazy clear still hold stale values, but logically contain the clear depth
+        if (this.depthBuffer.isTileCleared(tileX, tileY)) {
+            this.tileMaxDepths[tile] = this.depthBuffer.getClearDepth();
+            this.dirtyTiles[tile] = false;
+            return;
+        }
+        final int minX = tileX * TILE_SIZE;
+        final int minY = tileY * TILE_SIZE;
+        final int maxX = Math.min(minX + TILE_SIZE, this.width);
+        final int maxY = Math.min(minY + TILE_SIZE, this.height);
+        final float[] depthBuffer = this.depthBuffer.raster();
+        float maxDepth = Float.NEGATIVE_INFINITY;
+        for (int y = minY; y < maxY; y++) {
+            final int rowIndex = y * this.width;
+            for (int x = minX; x < maxX; x++) {
+                maxDepth = Math.max(maxDepth, depthBuffer[rowIndex + x]);
+            }
+        }
+        this.tileMaxDepths[tile] = maxDepth;
+        this.dirtyTiles[tile] = false;
+    }
+
+}
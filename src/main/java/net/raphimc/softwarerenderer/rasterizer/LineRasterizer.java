@@ -0,0 +1,164 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.CullFace;
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import net.raphimc.softwarerenderer.vertex.RasterVertex;
+import org.jetbrains.annotations.Nullable;
+
+public record LineRasterizer(RasterVertex v1, RasterVertex v2) implements Rasterizer {
+
+    @Override
+    public void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        rasterize(colorBuffer, depthBuffer, clipRect, this.v1, this.v2);
+    }
+
+    public static void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect, final RasterVertex v1, final RasterVertex v2) {
+        rasterize(colorBuffer, depthBuffer, clipRect, v1.x(), v1.y(), v1.z(), v1.c(), v2.x(), v2.y(), v2.z(), v2.c());
+    }
+
+    public static void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect, final float x1, final float y1, final float z1, final int c1, final float x2, final float y2, final float z2, final int c2) {
+        walk(colorBuffer.raster(), colorBuffer.width(), colorBuffer.height(), depthBuffer, clipRect, x1, y1, z1, c1, x2, y2, z2, c2);
+    }
+
+    @Override
+    public int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        return countVisibleSamples(width, height, depthBuffer, clipRect, this.v1.x(), this.v1.y(), this.v1.z(), this.v2.x(), this.v2.y(), this.v2.z());
+    }
+
+    public static int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect, final float x1, final float y1, final float z1, final float x2, final float y2, final float z2) {
+        return walk(null, width, height, depthBuffer, clipRect, x1, y1, z1, 0, x2, y2, z2, 0);
+    }
+
+    @Override
+    public void drawWireframe(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        this.rasterize(colorBuffer, depthBuffer, clipRect);
+    }
+
+    @Override
+    public boolean canBeCulled(final CullFace cullFace) {
+        return false;
+    }
+
+    @Override
+    public ClipRect getBounds() {
+        return new ClipRect((int) Math.floor(Math.min(this.v1.x(), this.v2.x())), (int) Math.floor(Math.min(this.v1.y(), this.v2.y())), (int) Math.ceil(Math.max(this.v1.x(), this.v2.x())), (int) Math.ceil(Math.max(this.v1.y(), this.v2.y())));
+    }
+
+    @Override
+    public float getMinDepth() {
+        return Math.min(this.v1.z(), this.v2.z());
+    }
+
+    // Every pixel position and attribute is computed from the step index alone, so a line split across tiles touches exactly the same pixels as an unsplit one
+    private static int walk(final int @Nullable [] colorRaster, final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect, final float x1, final float y1, final float z1, final int c1, final float x2, final float y2, final float z2, final int c2) {
+        int minX = 0;
+        int minY = 0;
+        int maxX = width - 1;
+        int maxY = height - 1;
+        if (clipRect != null) {
+            minX = Math.max(minX, clipRect.minX());
+            minY = Math.max(minY, clipRect.minY());
+            maxX = Math.min(maxX, clipRect.maxX());
+            maxY = Math.min(maxY, clipRect.maxY());
+        }
+        if (minX > maxX || minY > maxY) {
+            return 0;
+        }
+
+        final int px1 = (int) Math.floor(x1);
+        final int py1 = (int) Math.floor(y1);
+        final int dx = (int) Math.floor(x2) - px1;
+        final int dy = (int) Math.floor(y2) - py1;
+        final boolean xMajor = Math.abs(dx) >= Math.abs(dy);
+        final int steps = Math.max(Math.abs(dx), Math.abs(dy));
+        final int major = xMajor ? px1 : py1;
+        final int majorSign = (xMajor ? dx : dy) < 0 ? -1 : 1;
+        final int minor = xMajor ? py1 : px1;
+        final int minorSign = (xMajor ? dy : dx) < 0 ? -1 : 1;
+        final int minorDelta = Math.abs(xMajor ? dy : dx);
+
+        // The step range is narrowed to the clip rect on both axes, the minor axis offset at step i is floor((2 * i * minorDelta + steps) / (2 * steps))
+        long start = majorSign > 0 ? (xMajor ? minX : minY) - major : major - (xMajor ? maxX : maxY);
+        long end = majorSign > 0 ? (xMajor ? maxX : maxY) - major : major - (xMajor ? minX : minY);
+        final int minMinorOffset = minorSign > 0 ? (xMajor ? minY : minX) - minor : minor - (xMajor ? maxY : maxX);
+        final int maxMinorOffset = minorSign > 0 ? (xMajor ? maxY : maxX) - minor : minor - (xMajor ? minY : minX);
+        final long twoSteps = Math.max(2L * steps, 1L);
+        if (minorDelta != 0) {
+            start = Math.max(start, -Math.floorDiv(-(twoSteps * minMinorOffset - steps), 2L * minorDelta));
+            end = Math.min(end, Math.floorDiv(twoSteps * (maxMinorOffset + 1L) - steps - 1L, 2L * minorDelta));
+        } else if (minMinorOffset > 0 || maxMinorOffset < 0) {
+            return 0;
+        }
+        start = Math.max(start, 0);
+        end = Math.min(end, steps);
+        if (start > end) {
+            return 0;
+        }
+
+        final long numerator = 2L * start * minorDelta + steps;
+        int minorOffset = (int) (numerator / twoSteps);
+        long remainder = numerator % twoSteps;
+        final int firstStep = (int) start;
+        final int lastStep = (int) end;
+        final long remainderStep = 2L * minorDelta;
+        final float depthStep = steps == 0 ? 0F : (z2 - z1) / steps;
+        final float colorStep = steps == 0 ? 0F : 1F / steps;
+        final int color1 = ColorMixer.premultiply(c1);
+        final int color2 = ColorMixer.premultiply(c2);
+        int visibleSamples = 0;
+        for (int i = firstStep; i <= lastStep; i++) {
+            final int majorPosition = major + i * majorSign;
+            final int minorPosition = minor + minorOffset * minorSign;
+            final int rasterIndex = xMajor ? minorPosition * width + majorPosition : majorPosition * width + minorPosition;
+            remainder += remainderStep;
+            if (remainder >= twoSteps) {
+                minorOffset++;
+                remainder -= twoSteps;
+            }
+
+            if (depthBuffer != null) {
+                final float z = z1 + depthStep * i;
+                if (z >= depthBuffer[rasterIndex]) {
+                    continue;
+                }
+                if (colorRaster != null) {
+                    depthBuffer[rasterIndex] = z;
+                }
+            }
+            visibleSamples++;
+            if (colorRaster != null) {
+                final int color = color1 == color2 ? color1 : ColorMixer.lerp(color1, color2, colorStep * i);
+                final int alpha = color >>> 24;
+                if (alpha == 0xFF) {
+                    colorRaster[rasterIndex] = color;
+                } else if (alpha != 0) {
+                    colorRaster[rasterIndex] = ColorMixer.blend(colorRaster[rasterIndex], color);
+                }
+            }
+        }
+        if (colorRaster != null) {
+            TriangleRasterizer.addSamples(lastStep - firstStep + 1, lastStep - firstStep + 1 - visibleSamples);
+        }
+        return visibleSamples;
+    }
+
+}
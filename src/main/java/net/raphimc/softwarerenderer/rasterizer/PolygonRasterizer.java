@@ -0,0 +1,102 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.CullFace;
+import net.raphimc.softwarerenderer.vertex.RasterVertex;
+import org.jetbrains.annotations.Nullable;
+
+public record PolygonRasterizer(RasterVertex[] vertices, TriangleRasterizer[] triangles) implements Rasterizer {
+
+    public static final PolygonRasterizer EMPTY = new PolygonRasterizer(new RasterVertex[0], new TriangleRasterizer[0]);
+
+    public PolygonRasterizer(final RasterVertex[] vertices, @Nullable final ImageBuffer textureBuffer) {
+        this(vertices, triangulate(vertices, textureBuffer));
+    }
+
+    @Override
+    public void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        for (TriangleRasterizer triangle : this.triangles) {
+            triangle.rasterize(colorBuffer, depthBuffer, clipRect);
+        }
+    }
+
+    @Override
+    public int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        int visibleSamples = 0;
+        for (TriangleRasterizer triangle : this.triangles) {
+            visibleSamples += triangle.countVisibleSamples(width, height, depthBuffer, clipRect);
+        }
+        return visibleSamples;
+    }
+
+    @Override
+    public void drawWireframe(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        for (int i = 0; i < this.vertices.length; i++) {
+            LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.vertices[i], this.vertices[(i + 1) % this.vertices.length]);
+        }
+    }
+
+    @Override
+    public boolean canBeCulled(final CullFace cullFace) {
+        for (TriangleRasterizer triangle : this.triangles) {
+            if (!triangle.canBeCulled(cullFace)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ClipRect getBounds() {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (RasterVertex vertex : this.vertices) {
+            minX = Math.min(minX, vertex.x());
+            minY = Math.min(minY, vertex.y());
+            maxX = Math.max(maxX, vertex.x());
+            maxY = Math.max(maxY, vertex.y());
+        }
+        return new ClipRect((int) Math.floor(minX), (int) Math.floor(minY), (int) Math.ceil(maxX), (int) Math.ceil(maxY));
+    }
+
+    @Override
+    public float getMinDepth() {
+        float minDepth = Float.POSITIVE_INFINITY;
+        for (RasterVertex vertex : this.vertices) {
+            minDepth = Math.min(minDepth, vertex.z());
+        }
+        return minDepth;
+    }
+
+    private static TriangleRasterizer[] triangulate(final RasterVertex[] vertices, @Nullable final ImageBuffer textureBuffer) {
+        if (vertices.length < 3) {
+            return new TriangleRasterizer[0];
+        }
+        final TriangleRasterizer[] triangles = new TriangleRasterizer[vertices.length - 2];
+        for (int i = 0; i < triangles.length; i++) {
+            triangles[i] = new TriangleRasterizer(vertices[0], vertices[i + 1], vertices[i + 2], textureBuffer);
+        }
+        return triangles;
+    }
+
+}
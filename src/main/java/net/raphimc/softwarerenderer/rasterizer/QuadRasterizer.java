@@ -23,8 +23,6 @@ import net.raphimc.softwarerenderer.enums.CullFace;
 import net.raphimc.softwarerenderer.vertex.RasterVertex;
 import org.jetbrains.annotations.Nullable;
 
-import java.awt.*;
-
 public record QuadRasterizer(TriangleRasterizer tr1, TriangleRasterizer tr2, RasterVertex v1, RasterVertex v2, RasterVertex v3, RasterVertex v4) implements Rasterizer {
 
     public QuadRasterizer(final RasterVertex v1, final RasterVertex v2, final RasterVertex v3, final RasterVertex v4, @Nullable final ImageBuffer textureBuffer) {
@@ -38,32 +36,16 @@ public record QuadRasterizer(TriangleRasterizer tr1, TriangleRasterizer tr2, Ras
     }
 
     @Override
-    public void drawWireframe(final Graphics graphics, @Nullable final ClipRect clipRect) {
-        final int x1 = (int) this.v1.x();
-        final int y1 = (int) this.v1.y();
-        final int x2 = (int) this.v2.x();
-        final int y2 = (int) this.v2.y();
-        final int x3 = (int) this.v3.x();
-        final int y3 = (int) this.v3.y();
-        final int x4 = (int) this.v4.x();
-        final int y4 = (int) this.v4.y();
-
-        final Color previousColor = graphics.getColor();
-        final Shape previousClip = graphics.getClip();
-        graphics.setColor(new Color(this.v1.c(), true));
-        if (clipRect != null) {
-            graphics.setClip(clipRect.minX(), clipRect.minY(), clipRect.minX() + clipRect.maxX(), clipRect.minY() + clipRect.maxY());
-        } else {
-            graphics.setClip(null);
-        }
-
-        graphics.drawLine(x1, y1, x2, y2);
-        graphics.drawLine(x2, y2, x3, y3);
-        graphics.drawLine(x3, y3, x4, y4);
-        graphics.drawLine(x4, y4, x1, y1);
+    public int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        return this.tr1.countVisibleSamples(width, height, depthBuffer, clipRect) + this.tr2.countVisibleSamples(width, height, depthBuffer, clipRect);
+    }
 
-        graphics.setColor(previousColor);
-        graphics.setClip(previousClip);
+    @Override
+    public void drawWireframe(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.v1, this.v2);
+        LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.v2, this.v3);
+        LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.v3, this.v4);
+        LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.v4, this.v1);
     }
 
     @Override
@@ -71,4 +53,16 @@ public record QuadRasterizer(TriangleRasterizer tr1, TriangleRasterizer tr2, Ras
         return this.tr1.canBeCulled(cullFace) && this.tr2.canBeCulled(cullFace);
     }
 
+    @Override
+    public ClipRect getBounds() {
+        final ClipRect bounds1 = this.tr1.getBounds();
+        final ClipRect bounds2 = this.tr2.getBounds();
+        return new ClipRect(Math.min(bounds1.minX(), bounds2.minX()), Math.min(bounds1.minY(), bounds2.minY()), Math.max(bounds1.maxX(), bounds2.maxX()), Math.max(bounds1.maxY(), bounds2.maxY()));
+    }
+
+    @Override
+    public float getMinDepth() {
+        return Math.min(this.tr1.getMinDepth(), this.tr2.getMinDepth());
+    }
+
 }
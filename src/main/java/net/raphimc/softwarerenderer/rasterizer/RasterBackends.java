@@ -0,0 +1,58 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import org.jetbrains.annotations.Nullable;
+
+public final class RasterBackends {
+
+    public static final String BACKEND_PROPERTY = "softwarerenderer.backend";
+    public static final RasterBackend SCALAR = new ScalarRasterBackend();
+    @Nullable
+    public static final RasterBackend VECTOR = loadVectorBackend();
+
+    private static volatile RasterBackend backend = "vector".equals(System.getProperty(BACKEND_PROPERTY)) && VECTOR != null ? VECTOR : SCALAR;
+
+    private RasterBackends() {
+    }
+
+    public static RasterBackend get() {
+        return backend;
+    }
+
+    public static void set(final RasterBackend backend) {
+        RasterBackends.backend = backend;
+    }
+
+    public static boolean isVectorAvailable() {
+        return VECTOR != null;
+    }
+
+    @Nullable
+    private static RasterBackend loadVectorBackend() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (RasterBackend) Class.forName("net.raphimc.softwarerenderer.rasterizer.VectorRasterBackend").getDeclaredConstructor().newInstance();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+}
@@ -22,14 +22,38 @@ import net.raphimc.softwarerenderer.data.ImageBuffer;
 import net.raphimc.softwarerenderer.enums.CullFace;
 import org.jetbrains.annotations.Nullable;
 
-import java.awt.*;
+import java.util.Arrays;
 
 public interface Rasterizer {
 
     void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect);
 
-    void drawWireframe(final Graphics graphics, @Nullable final ClipRect clipRect);
+    // Rasterizes into scratch buffers and counts the samples that changed the depth, the built in rasterizers override this with a walk that writes nothing
+    default int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        final float[] scratchDepthBuffer = depthBuffer != null ? depthBuffer.clone() : new float[width * height];
+        if (depthBuffer == null) {
+            Arrays.fill(scratchDepthBuffer, Float.POSITIVE_INFINITY);
+        }
+        this.rasterize(new ImageBuffer(new int[width * height], width, height), scratchDepthBuffer, clipRect);
+        int visibleSamples = 0;
+        for (int i = 0; i < scratchDepthBuffer.length; i++) {
+            if (scratchDepthBuffer[i] != (depthBuffer != null ? depthBuffer[i] : Float.POSITIVE_INFINITY)) {
+                visibleSamples++;
+            }
+        }
+        return visibleSamples;
+    }
+
+    void drawWireframe(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect);
 
     boolean canBeCulled(final CullFace cullFace);
 
+    default ClipRect getBounds() {
+        return new ClipRect(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    default float getMinDepth() {
+        return Float.NEGATIVE_INFINITY;
+    }
+
 }
@@ -0,0 +1,499 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import org.jetbrains.annotations.Nullable;
+
+public class ScalarRasterBackend implements RasterBackend {
+
+    @Override
+    public void rasterize(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        if (setup.textureRaster == null) {
+            if (!setup.opaque) {
+                if (setup.flatShaded) {
+                    this.rasterizeFlatBlended(setup, colorBuffer, depthBuffer);
+                } else {
+                    this.rasterizeBlended(setup, colorBuffer, depthBuffer);
+                }
+            } else if (setup.flatShaded) {
+                this.rasterizeFlat(setup, colorBuffer, depthBuffer);
+            } else {
+                this.rasterizeGouraud(setup, colorBuffer, depthBuffer);
+            }
+        } else if (setup.opaque) {
+            this.rasterizeTexturedOpaque(setup, colorBuffer, depthBuffer);
+        } else if (setup.alphaTested) {
+            this.rasterizeTexturedAlphaTested(setup, colorBuffer, depthBuffer);
+        } else {
+            this.rasterizeBlended(setup, colorBuffer, depthBuffer);
+        }
+    }
+
+    // Opaque colors have an alpha of 255, so blending them would just return the source color
+    private void rasterizeFlat(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        final int rasterWidth = colorBuffer.width();
+        final int[] colorRaster = colorBuffer.raster();
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final long stepX1 = setup.stepX1;
+        final long stepX2 = setup.stepX2;
+        final long stepX3 = setup.stepX3;
+        final float dzdx = setup.dzdx;
+        final float zMin = setup.zMin;
+        final float zMax = setup.zMax;
+        final int color = setup.flatColor;
+        long rowEdge1 = setup.edge1;
+        long rowEdge2 = setup.edge2;
+        long rowEdge3 = setup.edge3;
+        int testedSamples = 0;
+        int rejectedSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            long edge1 = rowEdge1;
+            long edge2 = rowEdge2;
+            long edge3 = rowEdge3;
+            rowEdge1 += setup.stepY1;
+            rowEdge2 += setup.stepY2;
+            rowEdge3 += setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final int rowIndex = y * rasterWidth;
+
+            for (int x = minX; x <= maxX; x++, edge1 += stepX1, edge2 += stepX2, edge3 += stepX3) {
+                if ((edge1 | edge2 | edge3) < 0) {
+                    continue;
+                }
+                testedSamples++;
+                final int rasterIndex = rowIndex + x;
+
+                if (depthBuffer != null) {
+                    final float z = Math.min(Math.max(rowZ + dzdx * (x - originX), zMin), zMax);
+                    if (z >= depthBuffer[rasterIndex]) {
+                        rejectedSamples++;
+                        continue;
+                    }
+                    depthBuffer[rasterIndex] = z;
+                }
+
+                colorRaster[rasterIndex] = color;
+            }
+        }
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
+    // Covered pixels of a row form one contiguous span, so without depth testing the whole span is blended in one call
+    private void rasterizeFlatBlended(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        final int rasterWidth = colorBuffer.width();
+        final int[] colorRaster = colorBuffer.raster();
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final long stepX1 = setup.stepX1;
+        final long stepX2 = setup.stepX2;
+        final long stepX3 = setup.stepX3;
+        final float dzdx = setup.dzdx;
+        final float zMin = setup.zMin;
+        final float zMax = setup.zMax;
+        final int color = setup.flatColor;
+        final boolean visible = (color & 0xFF000000) != 0;
+        long rowEdge1 = setup.edge1;
+        long rowEdge2 = setup.edge2;
+        long rowEdge3 = setup.edge3;
+        int testedSamples = 0;
+        int rejectedSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            long edge1 = rowEdge1;
+            long edge2 = rowEdge2;
+            long edge3 = rowEdge3;
+            rowEdge1 += setup.stepY1;
+            rowEdge2 += setup.stepY2;
+            rowEdge3 += setup.stepY3;
+
+            int x = minX;
+            while (x <= maxX && (edge1 | edge2 | edge3) < 0) {
+                x++;
+                edge1 += stepX1;
+                edge2 += stepX2;
+                edge3 += stepX3;
+            }
+            final int spanStart = x;
+            while (x <= maxX && (edge1 | edge2 | edge3) >= 0) {
+                x++;
+                edge1 += stepX1;
+                edge2 += stepX2;
+                edge3 += stepX3;
+            }
+            testedSamples += x - spanStart;
+            final int rowIndex = y * rasterWidth;
+
+            if (depthBuffer == null) {
+                if (visible) {
+                    ColorMixer.blend(colorRaster, rowIndex + spanStart, x - spanStart, color);
+                }
+                continue;
+            }
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            for (int spanX = spanStart; spanX < x; spanX++) {
+                final int rasterIndex = rowIndex + spanX;
+                final float z = Math.min(Math.max(rowZ + dzdx * (spanX - originX), zMin), zMax);
+                if (z >= depthBuffer[rasterIndex]) {
+                    rejectedSamples++;
+                    continue;
+                }
+                depthBuffer[rasterIndex] = z;
+                if (visible) {
+                    colorRaster[rasterIndex] = ColorMixer.blend(colorRaster[rasterIndex], color);
+                }
+            }
+        }
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
+    private void rasterizeGouraud(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        final int rasterWidth = colorBuffer.width();
+        final int[] colorRaster = colorBuffer.raster();
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final long stepX1 = setup.stepX1;
+        final long stepX2 = setup.stepX2;
+        final long stepX3 = setup.stepX3;
+        final float dzdx = setup.dzdx;
+        final float zMin = setup.zMin;
+        final float zMax = setup.zMax;
+        final float drdx = setup.drdx;
+        final float dgdx = setup.dgdx;
+        final float dbdx = setup.dbdx;
+        long rowEdge1 = setup.edge1;
+        long rowEdge2 = setup.edge2;
+        long rowEdge3 = setup.edge3;
+        int testedSamples = 0;
+        int rejectedSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            long edge1 = rowEdge1;
+            long edge2 = rowEdge2;
+            long edge3 = rowEdge3;
+            rowEdge1 += setup.stepY1;
+            rowEdge2 += setup.stepY2;
+            rowEdge3 += setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final float rowR = setup.r0 + setup.drdy * (y - setup.originY);
+            final float rowG = setup.g0 + setup.dgdy * (y - setup.originY);
+            final float rowB = setup.b0 + setup.dbdy * (y - setup.originY);
+            final int rowIndex = y * rasterWidth;
+
+            for (int x = minX; x <= maxX; x++, edge1 += stepX1, edge2 += stepX2, edge3 += stepX3) {
+                if ((edge1 | edge2 | edge3) < 0) {
+                    continue;
+                }
+                testedSamples++;
+                final int rasterIndex = rowIndex + x;
+
+                if (depthBuffer != null) {
+                    final float z = Math.min(Math.max(rowZ + dzdx * (x - originX), zMin), zMax);
+                    if (z >= depthBuffer[rasterIndex]) {
+                        rejectedSamples++;
+                        continue;
+                    }
+                    depthBuffer[rasterIndex] = z;
+                }
+
+                final int r = (int) (rowR + drdx * (x - originX));
+                final int g = (int) (rowG + dgdx * (x - originX));
+                final int b = (int) (rowB + dbdx * (x - originX));
+                colorRaster[rasterIndex] = 0xFF000000 | (r << 16) | (g << 8) | b;
+            }
+        }
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
+    private void rasterizeTexturedOpaque(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        final int rasterWidth = colorBuffer.width();
+        final int[] colorRaster = colorBuffer.raster();
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final long stepX1 = setup.stepX1;
+        final long stepX2 = setup.stepX2;
+        final long stepX3 = setup.stepX3;
+        final float dzdx = setup.dzdx;
+        final float zMin = setup.zMin;
+        final float zMax = setup.zMax;
+        final boolean textureModulated = setup.textureModulated;
+        final int[] textureRaster = setup.textureRaster;
+        final float dwdx = setup.dwdx;
+        final float dudx = setup.dudx;
+        final float dvdx = setup.dvdx;
+        long rowEdge1 = setup.edge1;
+        long rowEdge2 = setup.edge2;
+        long rowEdge3 = setup.edge3;
+        int testedSamples = 0;
+        int rejectedSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            long edge1 = rowEdge1;
+            long edge2 = rowEdge2;
+            long edge3 = rowEdge3;
+            rowEdge1 += setup.stepY1;
+            rowEdge2 += setup.stepY2;
+            rowEdge3 += setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final float rowW = setup.w0 + setup.dwdy * (y - setup.originY);
+            final float rowU = setup.u0 + setup.dudy * (y - setup.originY);
+            final float rowV = setup.v0 + setup.dvdy * (y - setup.originY);
+            final int rowIndex = y * rasterWidth;
+
+            for (int x = minX; x <= maxX; x++, edge1 += stepX1, edge2 += stepX2, edge3 += stepX3) {
+                if ((edge1 | edge2 | edge3) < 0) {
+                    continue;
+                }
+                testedSamples++;
+                final int rasterIndex = rowIndex + x;
+
+                if (depthBuffer != null) {
+                    final float z = Math.min(Math.max(rowZ + dzdx * (x - originX), zMin), zMax);
+                    if (z >= depthBuffer[rasterIndex]) {
+                        rejectedSamples++;
+                        continue;
+                    }
+                    depthBuffer[rasterIndex] = z;
+                }
+
+                final float w = 1F / (rowW + dwdx * (x - originX));
+                final float u = (rowU + dudx * (x - originX)) * w;
+                final float v = (rowV + dvdx * (x - originX)) * w;
+                final int texColor = textureRaster[setup.getTexelIndex(u, v)];
+                colorRaster[rasterIndex] = textureModulated ? ColorMixer.mix(getColor(setup, x, y), texColor) : texColor;
+            }
+        }
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
+    // Binary alpha textures either fully cover a pixel or leave it untouched
+    private void rasterizeTexturedAlphaTested(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        final int rasterWidth = colorBuffer.width();
+        final int[] colorRaster = colorBuffer.raster();
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final long stepX1 = setup.stepX1;
+        final long stepX2 = setup.stepX2;
+        final long stepX3 = setup.stepX3;
+        final float dzdx = setup.dzdx;
+        final float zMin = setup.zMin;
+        final float zMax = setup.zMax;
+        final boolean textureModulated = setup.textureModulated;
+        final int[] textureRaster = setup.textureRaster;
+        final float dwdx = setup.dwdx;
+        final float dudx = setup.dudx;
+        final float dvdx = setup.dvdx;
+        long rowEdge1 = setup.edge1;
+        long rowEdge2 = setup.edge2;
+        long rowEdge3 = setup.edge3;
+        int testedSamples = 0;
+        int rejectedSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            long edge1 = rowEdge1;
+            long edge2 = rowEdge2;
+            long edge3 = rowEdge3;
+            rowEdge1 += setup.stepY1;
+            rowEdge2 += setup.stepY2;
+            rowEdge3 += setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final float rowW = setup.w0 + setup.dwdy * (y - setup.originY);
+            final float rowU = setup.u0 + setup.dudy * (y - setup.originY);
+            final float rowV = setup.v0 + setup.dvdy * (y - setup.originY);
+            final int rowIndex = y * rasterWidth;
+
+            for (int x = minX; x <= maxX; x++, edge1 += stepX1, edge2 += stepX2, edge3 += stepX3) {
+                if ((edge1 | edge2 | edge3) < 0) {
+                    continue;
+                }
+                testedSamples++;
+                final int rasterIndex = rowIndex + x;
+
+                if (depthBuffer != null) {
+                    final float z = Math.min(Math.max(rowZ + dzdx * (x - originX), zMin), zMax);
+                    if (z >= depthBuffer[rasterIndex]) {
+                        rejectedSamples++;
+                        continue;
+                    }
+                    depthBuffer[rasterIndex] = z;
+                }
+
+                final float w = 1F / (rowW + dwdx * (x - originX));
+                final float u = (rowU + dudx * (x - originX)) * w;
+                final float v = (rowV + dvdx * (x - originX)) * w;
+                final int texColor = textureRaster[setup.getTexelIndex(u, v)];
+                if ((texColor & 0xFF000000) != 0) {
+                    colorRaster[rasterIndex] = textureModulated ? ColorMixer.mix(getColor(setup, x, y), texColor) : texColor;
+                }
+            }
+        }
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
+    private void rasterizeBlended(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        final int rasterWidth = colorBuffer.width();
+        final int[] colorRaster = colorBuffer.raster();
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final long stepX1 = setup.stepX1;
+        final long stepX2 = setup.stepX2;
+        final long stepX3 = setup.stepX3;
+        final float dzdx = setup.dzdx;
+        final float zMin = setup.zMin;
+        final float zMax = setup.zMax;
+        final float dadx = setup.dadx;
+        final float drdx = setup.drdx;
+        final float dgdx = setup.dgdx;
+        final float dbdx = setup.dbdx;
+        final int[] textureRaster = setup.textureRaster;
+        final float dwdx = setup.dwdx;
+        final float dudx = setup.dudx;
+        final float dvdx = setup.dvdx;
+        long rowEdge1 = setup.edge1;
+        long rowEdge2 = setup.edge2;
+        long rowEdge3 = setup.edge3;
+        int testedSamples = 0;
+        int rejectedSamples = 0;
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            long edge1 = rowEdge1;
+            long edge2 = rowEdge2;
+            long edge3 = rowEdge3;
+            rowEdge1 += setup.stepY1;
+            rowEdge2 += setup.stepY2;
+            rowEdge3 += setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final float rowA = setup.a0 + setup.dady * (y - setup.originY);
+            final float rowR = setup.r0 + setup.drdy * (y - setup.originY);
+            final float rowG = setup.g0 + setup.dgdy * (y - setup.originY);
+            final float rowB = setup.b0 + setup.dbdy * (y - setup.originY);
+            final float rowW = setup.w0 + setup.dwdy * (y - setup.originY);
+            final float rowU = setup.u0 + setup.dudy * (y - setup.originY);
+            final float rowV = setup.v0 + setup.dvdy * (y - setup.originY);
+            final int rowIndex = y * rasterWidth;
+
+            for (int x = minX; x <= maxX; x++, edge1 += stepX1, edge2 += stepX2, edge3 += stepX3) {
+                if ((edge1 | edge2 | edge3) < 0) {
+                    continue;
+                }
+                testedSamples++;
+                final int rasterIndex = rowIndex + x;
+
+                if (depthBuffer != null) {
+                    final float z = Math.min(Math.max(rowZ + dzdx * (x - originX), zMin), zMax);
+                    if (z >= depthBuffer[rasterIndex]) {
+                        rejectedSamples++;
+                        continue;
+                    }
+                    depthBuffer[rasterIndex] = z;
+                }
+
+                final int a = (int) (rowA + dadx * (x - originX));
+                final int r = (int) (rowR + drdx * (x - originX));
+                final int g = (int) (rowG + dgdx * (x - originX));
+                final int b = (int) (rowB + dbdx * (x - originX));
+                int color = (a << 24) | (r << 16) | (g << 8) | b;
+
+                if (textureRaster != null) {
+                    final float w = 1F / (rowW + dwdx * (x - originX));
+                    final float u = (rowU + dudx * (x - originX)) * w;
+                    final float v = (rowV + dvdx * (x - originX)) * w;
+
+                    final int texColor = textureRaster[setup.getTexelIndex(u, v)];
+                    color = ColorMixer.mix(color, texColor);
+                }
+
+                if ((color & 0xFF000000) != 0) {
+                    colorRaster[rasterIndex] = ColorMixer.blend(colorRaster[rasterIndex], color);
+                }
+            }
+        }
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
+    @Override
+    public int countVisibleSamples(final TriangleSetup setup, final int width, final float @Nullable [] depthBuffer) {
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final long stepX1 = setup.stepX1;
+        final long stepX2 = setup.stepX2;
+        final long stepX3 = setup.stepX3;
+        final float dzdx = setup.dzdx;
+        final float zMin = setup.zMin;
+        final float zMax = setup.zMax;
+        long rowEdge1 = setup.edge1;
+        long rowEdge2 = setup.edge2;
+        long rowEdge3 = setup.edge3;
+        int visibleSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            long edge1 = rowEdge1;
+            long edge2 = rowEdge2;
+            long edge3 = rowEdge3;
+            rowEdge1 += setup.stepY1;
+            rowEdge2 += setup.stepY2;
+            rowEdge3 += setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final int rowIndex = y * width;
+
+            for (int x = minX; x <= maxX; x++, edge1 += stepX1, edge2 += stepX2, edge3 += stepX3) {
+                if ((edge1 | edge2 | edge3) < 0) {
+                    continue;
+                }
+                if (depthBuffer != null && Math.min(Math.max(rowZ + dzdx * (x - originX), zMin), zMax) >= depthBuffer[rowIndex + x]) {
+                    continue;
+                }
+                visibleSamples++;
+            }
+        }
+        return visibleSamples;
+    }
+
+    private static int getColor(final TriangleSetup setup, final int x, final int y) {
+        if (setup.flatShaded) {
+            return setup.flatColor;
+        }
+        final int a = (int) (setup.a0 + setup.dady * (y - setup.originY) + setup.dadx * (x - setup.originX));
+        final int r = (int) (setup.r0 + setup.drdy * (y - setup.originY) + setup.drdx * (x - setup.originX));
+        final int g = (int) (setup.g0 + setup.dgdy * (y - setup.originY) + setup.dgdx * (x - setup.originX));
+        final int b = (int) (setup.b0 + setup.dbdy * (y - setup.originY) + setup.dbdx * (x - setup.originX));
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.enums.WrapMode;
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+public class SpriteBlitter {
+
+    private static final int SUBPIXEL_SCALE = 16;
+
+    private int[] texelColumns = new int[64];
+
+    // Covers the same pixels as two triangles spanning the rectangle: pixel centers on the top and left edges are inside, on the bottom and right edges they are not
+    public int blit(final ImageBuffer colorBuffer, @Nullable final ClipRect clipRect, @Nullable final ImageBuffer textureBuffer,
+                        final float x0, final float y0, final float x1, final float y1, final float u0, final float v0, final float u1, final float v1, final int c) {
+        final long fx0 = Math.round((double) x0 * SUBPIXEL_SCALE);
+        final long fy0 = Math.round((double) y0 * SUBPIXEL_SCALE);
+        final long fx1 = Math.round((double) x1 * SUBPIXEL_SCALE);
+        final long fy1 = Math.round((double) y1 * SUBPIXEL_SCALE);
+        long minX = Math.max(0, ceilDiv(fx0 - SUBPIXEL_SCALE / 2));
+        long minY = Math.max(0, ceilDiv(fy0 - SUBPIXEL_SCALE / 2));
+        long maxX = Math.min(colorBuffer.width() - 1, ceilDiv(fx1 - SUBPIXEL_SCALE / 2) - 1);
+        long maxY = Math.min(colorBuffer.height() - 1, ceilDiv(fy1 - SUBPIXEL_SCALE / 2) - 1);
+        if (clipRect != null) {
+            minX = Math.max(minX, clipRect.minX());
+            minY = Math.max(minY, clipRect.minY());
+            maxX = Math.min(maxX, clipRect.maxX());
+            maxY = Math.min(maxY, clipRect.maxY());
+        }
+        if (minX > maxX || minY > maxY) {
+            return 0;
+        }
+
+        final int color = ColorMixer.premultiply(c);
+        if (textureBuffer == null) {
+            fill(colorBuffer, (int) minX, (int) minY, (int) maxX, (int) maxY, color);
+        } else {
+            this.blitTexture(colorBuffer, textureBuffer, (int) minX, (int) minY, (int) maxX, (int) maxY, fx0, fy0, fx1, fy1, u0, v0, u1, v1, color);
+        }
+        return (int) ((maxX - minX + 1) * (maxY - minY + 1));
+    }
+
+    private static void fill(final ImageBuffer colorBuffer, final int minX, final int minY, final int maxX, final int maxY, final int color) {
+        final int alpha = color >>> 24;
+        if (alpha == 0) {
+            return;
+        }
+        final int[] raster = colorBuffer.raster();
+        final int width = colorBuffer.width();
+        final int length = maxX - minX + 1;
+        for (int y = minY; y <= maxY; y++) {
+            final int offset = y * width + minX;
+            if (alpha == 0xFF) {
+                Arrays.fill(raster, offset, offset + length, color);
+            } else {
+                ColorMixer.blend(raster, offset, length, color);
+            }
+        }
+    }
+
+    private void blitTexture(final ImageBuffer colorBuffer, final ImageBuffer textureBuffer, final int minX, final int minY, final int maxX, final int maxY,
+                             final long fx0, final long fy0, final long fx1, final long fy1, final float u0, final float v0, final float u1, final float v1, final int color) {
+        final double spanX = (fx1 - fx0) / (double) SUBPIXEL_SCALE;
+        final double spanY = (fy1 - fy0) / (double) SUBPIXEL_SCALE;
+        ImageBuffer textureLevel = textureBuffer;
+        if (textureBuffer.hasMipmaps()) {
+            final double texelsX = (u1 - u0) / spanX * textureBuffer.width();
+            final double texelsY = (v1 - v0) / spanY * textureBuffer.height();
+            final double footprint = Math.max(texelsX * texelsX, texelsY * texelsY);
+            if (footprint >= 4) {
+                textureLevel = textureBuffer.getMipLevel(Math.getExponent(footprint) / 2);
+            }
+        }
+        final int textureWidth = textureLevel.width();
+        final int textureHeight = textureLevel.height();
+        final int[] textureRaster = textureLevel.raster();
+        final WrapMode wrapMode = textureBuffer.wrapMode();
+
+        // Texel columns are shared by all rows, so each one is only wrapped once per sprite
+        final int length = maxX - minX + 1;
+        if (this.texelColumns.length < length) {
+            this.texelColumns = new int[Math.max(length, this.texelColumns.length * 2)];
+        }
+        final int[] texelColumns = this.texelColumns;
+        final double dudx = (u1 - u0) * textureWidth / spanX;
+        final double startU = u0 * textureWidth + (minX + 0.5 - fx0 / (double) SUBPIXEL_SCALE) * dudx;
+        boolean contiguous = true;
+        for (int i = 0; i < length; i++) {
+            texelColumns[i] = wrap(floor(startU + i * dudx), textureWidth, wrapMode);
+            contiguous &= texelColumns[i] == texelColumns[0] + i;
+        }
+        final double dvdy = (v1 - v0) * textureHeight / spanY;
+        final double startV = v0 * textureHeight + (minY + 0.5 - fy0 / (double) SUBPIXEL_SCALE) * dvdy;
+
+        final int[] raster = colorBuffer.raster();
+        final int width = colorBuffer.width();
+        final boolean modulated = color != 0xFFFFFFFF;
+        final boolean opaque = !modulated && textureLevel.opacity() == Opacity.OPAQUE;
+        for (int y = minY; y <= maxY; y++) {
+            final int rowOffset = y * width + minX;
+            final int textureRowOffset = wrap(floor(startV + (y - minY) * dvdy), textureHeight, wrapMode) * textureWidth;
+            if (contiguous && !modulated) {
+                if (opaque) {
+                    System.arraycopy(textureRaster, textureRowOffset + texelColumns[0], raster, rowOffset, length);
+                } else {
+                    ColorMixer.blend(raster, rowOffset, textureRaster, textureRowOffset + texelColumns[0], length);
+                }
+                continue;
+            }
+            if (modulated) {
+                blendModulatedRow(raster, rowOffset, textureRaster, textureRowOffset, texelColumns, length, color);
+            } else {
+                blendRow(raster, rowOffset, textureRaster, textureRowOffset, texelColumns, length);
+            }
+        }
+    }
+
+    private static void blendRow(final int[] raster, final int rowOffset, final int[] textureRaster, final int textureRowOffset, final int[] texelColumns, final int length) {
+        for (int i = 0; i < length; i++) {
+            final int texColor = textureRaster[textureRowOffset + texelColumns[i]];
+            final int alpha = texColor >>> 24;
+            if (alpha == 0xFF) {
+                raster[rowOffset + i] = texColor;
+            } else if (alpha != 0) {
+                raster[rowOffset + i] = ColorMixer.blend(raster[rowOffset + i], texColor);
+            }
+        }
+    }
+
+    private static void blendModulatedRow(final int[] raster, final int rowOffset, final int[] textureRaster, final int textureRowOffset, final int[] texelColumns, final int length, final int color) {
+        for (int i = 0; i < length; i++) {
+            final int texColor = textureRaster[textureRowOffset + texelColumns[i]];
+            if (texColor >>> 24 == 0) {
+                continue;
+            }
+            final int pixelColor = ColorMixer.mix(color, texColor);
+            final int alpha = pixelColor >>> 24;
+            if (alpha == 0xFF) {
+                raster[rowOffset + i] = pixelColor;
+            } else if (alpha != 0) {
+                raster[rowOffset + i] = ColorMixer.blend(raster[rowOffset + i], pixelColor);
+            }
+        }
+    }
+
+    private static long ceilDiv(final long value) {
+        return -Math.floorDiv(-value, SUBPIXEL_SCALE);
+    }
+
+    private static long floor(final double coordinate) {
+        return (long) Math.floor(coordinate);
+    }
+
+    private static int wrap(final long texel, final int size, final WrapMode wrapMode) {
+        return switch (wrapMode) {
+            case CLAMP -> (int) Math.min(Math.max(texel, 0), size - 1);
+            case REPEAT -> (int) Math.floorMod(texel, (long) size);
+            case MIRROR -> {
+                final int mirrored = (int) Math.floorMod(texel, size * 2L);
+                yield mirrored < size ? mirrored : size * 2 - 1 - mirrored;
+            }
+        };
+    }
+
+}
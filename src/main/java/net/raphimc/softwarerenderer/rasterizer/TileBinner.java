@@ -0,0 +1,176 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class TileBinner {
+
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final int tilesX;
+    private final int tilesY;
+    private final ClipRect[] tileRects;
+    private final int[][] bins;
+    private final int[] binSizes;
+    private ClipRect clipRect;
+    private ClipRect screenRect;
+
+    public TileBinner(final int width, final int height, final int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+        this.tileRects = new ClipRect[this.tilesX * this.tilesY];
+        this.bins = new int[this.tileRects.length][16];
+        this.binSizes = new int[this.tileRects.length];
+        for (int tileY = 0; tileY < this.tilesY; tileY++) {
+            for (int tileX = 0; tileX < this.tilesX; tileX++) {
+                final int minX = tileX * tileSize;
+                final int minY = tileY * tileSize;
+                this.tileRects[tileY * this.tilesX + tileX] = new ClipRect(minX, minY, Math.min(minX + tileSize, width) - 1, Math.min(minY + tileSize, height) - 1);
+            }
+        }
+    }
+
+    public void rasterize(final Rasterizer[] rasterizers, final int count, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final HierarchicalDepthBuffer hierarchicalDepthBuffer, @Nullable final ClipRect clipRect, final Executor executor) {
+        this.reset(clipRect);
+        for (int i = 0; i < count; i++) {
+            final ClipRect bounds = rasterizers[i].getBounds();
+            this.add(i, bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY());
+        }
+        if (hierarchicalDepthBuffer != null) {
+            this.execute((index, tileClipRect) -> hierarchicalDepthBuffer.rasterize(rasterizers[index], colorBuffer, tileClipRect), executor);
+        } else {
+            this.execute((index, tileClipRect) -> rasterizers[index].rasterize(colorBuffer, depthBuffer, tileClipRect), executor);
+        }
+    }
+
+    public void rasterize(final Rasterizer[] rasterizers, final ClipRect[] clipRects, final int count, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final HierarchicalDepthBuffer hierarchicalDepthBuffer, final Executor executor) {
+        this.reset(null);
+        for (int i = 0; i < count; i++) {
+            final ClipRect bounds = rasterizers[i].getBounds().intersect(clipRects[i]);
+            if (bounds != null) {
+                this.add(i, bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY());
+            }
+        }
+        this.execute((index, tileClipRect) -> {
+            final ClipRect clipRect = tileClipRect.intersect(clipRects[index]);
+            if (clipRect == null) {
+                return;
+            }
+            if (hierarchicalDepthBuffer != null) {
+                hierarchicalDepthBuffer.rasterize(rasterizers[index], colorBuffer, clipRect);
+            } else {
+                rasterizers[index].rasterize(colorBuffer, depthBuffer, clipRect);
+            }
+        }, executor);
+    }
+
+    public void reset(@Nullable final ClipRect clipRect) {
+        this.clipRect = clipRect;
+        this.screenRect = new ClipRect(0, 0, this.width - 1, this.height - 1).intersect(clipRect);
+        Arrays.fill(this.binSizes, 0);
+    }
+
+    public void add(final int index, final int minX, final int minY, final int maxX, final int maxY) {
+        if (this.screenRect == null) {
+            return;
+        }
+        final int clampedMinX = Math.max(minX, this.screenRect.minX());
+        final int clampedMinY = Math.max(minY, this.screenRect.minY());
+        final int clampedMaxX = Math.min(maxX, this.screenRect.maxX());
+        final int clampedMaxY = Math.min(maxY, this.screenRect.maxY());
+        if (clampedMinX > clampedMaxX || clampedMinY > clampedMaxY) {
+            return;
+        }
+        final int minTileX = clampedMinX / this.tileSize;
+        final int minTileY = clampedMinY / this.tileSize;
+        final int maxTileX = clampedMaxX / this.tileSize;
+        final int maxTileY = clampedMaxY / this.tileSize;
+        for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                this.addToBin(tileY * this.tilesX + tileX, index);
+            }
+        }
+    }
+
+    public void execute(final TileTask task, final Executor executor) {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int tile = 0; tile < this.tileRects.length; tile++) {
+            final int binSize = this.binSizes[tile];
+            if (binSize == 0) {
+                continue;
+            }
+            final int[] bin = this.bins[tile];
+            final ClipRect tileClipRect = this.tileRects[tile].intersect(this.clipRect);
+            if (tileClipRect == null) {
+                continue;
+            }
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < binSize; i++) {
+                    task.run(bin[i], tileClipRect);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getTileSize() {
+        return this.tileSize;
+    }
+
+    private void addToBin(final int tile, final int index) {
+        int[] bin = this.bins[tile];
+        final int size = this.binSizes[tile];
+        if (size == bin.length) {
+            bin = this.bins[tile] = Arrays.copyOf(bin, size * 2);
+        }
+        bin[size] = index;
+        this.binSizes[tile] = size + 1;
+    }
+
+    @FunctionalInterface
+    public interface TileTask {
+
+        void run(final int index, final ClipRect tileClipRect);
+
+    }
+
+}
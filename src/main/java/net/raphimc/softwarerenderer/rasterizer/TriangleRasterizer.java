@@ -20,176 +20,123 @@ package net.raphimc.softwarerenderer.rasterizer;
 import net.raphimc.softwarerenderer.data.ClipRect;
 import net.raphimc.softwarerenderer.data.ImageBuffer;
 import net.raphimc.softwarerenderer.enums.CullFace;
-import net.raphimc.softwarerenderer.util.ColorMixer;
 import net.raphimc.softwarerenderer.vertex.RasterVertex;
+import net.raphimc.softwarerenderer.vertex.VertexBuffer;
 import org.jetbrains.annotations.Nullable;
 
-import java.awt.*;
-
 public record TriangleRasterizer(RasterVertex v1, RasterVertex v2, RasterVertex v3, @Nullable ImageBuffer textureBuffer) implements Rasterizer {
 
+    private static final ThreadLocal<TriangleSetup> SETUP = ThreadLocal.withInitial(TriangleSetup::new);
+
     @Override
     public void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
-        final float x1 = this.v1.x();
-        final float y1 = this.v1.y();
-        final float z1 = this.v1.z();
-        final float w1 = this.v1.w();
-        final float x2 = this.v2.x();
-        final float y2 = this.v2.y();
-        final float z2 = this.v2.z();
-        final float w2 = this.v2.w();
-        final float x3 = this.v3.x();
-        final float y3 = this.v3.y();
-        final float z3 = this.v3.z();
-        final float w3 = this.v3.w();
-        final int rasterWidth = colorBuffer.width();
-        final int rasterHeight = colorBuffer.height();
-        final int[] colorRaster = colorBuffer.raster();
-        final boolean isBackFacing = this.isBackFacing();
-
-        int minX = (int) Math.floor(Math.max(0, Math.min(Math.min(x1, x2), Math.min(x3, rasterWidth - 1))));
-        int minY = (int) Math.floor(Math.max(0, Math.min(Math.min(y1, y2), Math.min(y3, rasterHeight - 1))));
-        int maxX = (int) Math.ceil(Math.min(rasterWidth - 1, Math.max(Math.max(x1, x2), Math.max(x3, 0))));
-        int maxY = (int) Math.ceil(Math.min(rasterHeight - 1, Math.max(Math.max(y1, y2), Math.max(y3, 0))));
-        if (clipRect != null) {
-            minX = Math.max(minX, clipRect.minX());
-            minY = Math.max(minY, clipRect.minY());
-            maxX = Math.min(maxX, clipRect.maxX());
-            maxY = Math.min(maxY, clipRect.maxY());
-        }
+        rasterize(colorBuffer, depthBuffer, clipRect, this.textureBuffer,
+                this.v1.x(), this.v1.y(), this.v1.z(), this.v1.w(), this.v1.c(), this.v1.u(), this.v1.v(),
+                this.v2.x(), this.v2.y(), this.v2.z(), this.v2.w(), this.v2.c(), this.v2.u(), this.v2.v(),
+                this.v3.x(), this.v3.y(), this.v3.z(), this.v3.w(), this.v3.c(), this.v3.u(), this.v3.v()
+        );
+    }
 
-        final float dx1 = x3 - x2;
-        final float dy1 = y3 - y2;
-        final float dx2 = x1 - x3;
-        final float dy2 = y1 - y3;
-        final float dx3 = x2 - x1;
-        final float dy3 = y2 - y1;
-
-        final int a1 = (this.v1.c() >> 24) & 0xFF;
-        final int r1 = (this.v1.c() >> 16) & 0xFF;
-        final int g1 = (this.v1.c() >> 8) & 0xFF;
-        final int b1 = this.v1.c() & 0xFF;
-        final int a2 = (this.v2.c() >> 24) & 0xFF;
-        final int r2 = (this.v2.c() >> 16) & 0xFF;
-        final int g2 = (this.v2.c() >> 8) & 0xFF;
-        final int b2 = this.v2.c() & 0xFF;
-        final int a3 = (this.v3.c() >> 24) & 0xFF;
-        final int r3 = (this.v3.c() >> 16) & 0xFF;
-        final int g3 = (this.v3.c() >> 8) & 0xFF;
-        final int b3 = this.v3.c() & 0xFF;
-
-        final int[] textureRaster;
-        final int textureWidth;
-        final int textureHeight;
-        final float u1;
-        final float v1;
-        final float u2;
-        final float v2;
-        final float u3;
-        final float v3;
-        if (this.textureBuffer != null) {
-            textureRaster = this.textureBuffer.raster();
-            textureWidth = this.textureBuffer.width();
-            textureHeight = this.textureBuffer.height();
-            u1 = this.v1.u() / w1 * textureWidth;
-            v1 = this.v1.v() / w1 * textureHeight;
-            u2 = this.v2.u() / w2 * textureWidth;
-            v2 = this.v2.v() / w2 * textureHeight;
-            u3 = this.v3.u() / w3 * textureWidth;
-            v3 = this.v3.v() / w3 * textureHeight;
-        } else {
-            textureRaster = null;
-            textureWidth = textureHeight = 0;
-            u1 = v1 = u2 = v2 = u3 = v3 = 0;
-        }
+    public static void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect, @Nullable final ImageBuffer textureBuffer, final float[] projectedVertices, final int[] colors, final float[] texCoords, final int i1, final int i2, final int i3) {
+        final int p1 = i1 * VertexBuffer.PROJECTED_STRIDE;
+        final int p2 = i2 * VertexBuffer.PROJECTED_STRIDE;
+        final int p3 = i3 * VertexBuffer.PROJECTED_STRIDE;
+        final int t1 = i1 * VertexBuffer.TEX_COORD_STRIDE;
+        final int t2 = i2 * VertexBuffer.TEX_COORD_STRIDE;
+        final int t3 = i3 * VertexBuffer.TEX_COORD_STRIDE;
+        rasterize(colorBuffer, depthBuffer, clipRect, textureBuffer,
+                projectedVertices[p1], projectedVertices[p1 + 1], projectedVertices[p1 + 2], projectedVertices[p1 + 3], colors[i1], texCoords[t1], texCoords[t1 + 1],
+                projectedVertices[p2], projectedVertices[p2 + 1], projectedVertices[p2 + 2], projectedVertices[p2 + 3], colors[i2], texCoords[t2], texCoords[t2 + 1],
+                projectedVertices[p3], projectedVertices[p3 + 1], projectedVertices[p3 + 2], projectedVertices[p3 + 3], colors[i3], texCoords[t3], texCoords[t3 + 1]
+        );
+    }
 
-        for (int y = minY; y <= maxY; y++) {
-            for (int x = minX; x <= maxX; x++) {
-                final double bc1 = (x - x2) * dy1 - (y - y2) * dx1;
-                final double bc2 = (x - x3) * dy2 - (y - y3) * dx2;
-                final double bc3 = (x - x1) * dy3 - (y - y1) * dx3;
-                if (isBackFacing ? (bc1 >= 0 && bc2 >= 0 && bc3 >= 0) : (bc1 <= 0 && bc2 <= 0 && bc3 <= 0)) {
-                    final double sum = bc1 + bc2 + bc3;
-                    if (sum == 0) {
-                        continue;
-                    }
-                    final int rasterIndex = y * rasterWidth + x;
-
-                    if (depthBuffer != null) {
-                        final float z = (float) ((bc1 * z1 + bc2 * z2 + bc3 * z3) / sum);
-                        if (z >= depthBuffer[rasterIndex]) {
-                            continue;
-                        }
-                        depthBuffer[rasterIndex] = z;
-                    }
-
-                    final double pSum = (bc1 / w1) + (bc2 / w2) + (bc3 / w3);
-
-                    final int a = (int) ((bc1 * a1 + bc2 * a2 + bc3 * a3) / sum);
-                    final int r = (int) ((bc1 * r1 + bc2 * r2 + bc3 * r3) / sum);
-                    final int g = (int) ((bc1 * g1 + bc2 * g2 + bc3 * g3) / sum);
-                    final int b = (int) ((bc1 * b1 + bc2 * b2 + bc3 * b3) / sum);
-                    int color = (a << 24) | (r << 16) | (g << 8) | b;
-
-                    if (textureRaster != null) {
-                        final double u = (bc1 * u1 + bc2 * u2 + bc3 * u3) / pSum;
-                        final double v = (bc1 * v1 + bc2 * v2 + bc3 * v3) / pSum;
-
-                        final int texX = (int) Math.min(Math.max(u, 0), textureWidth - 1);
-                        final int texY = (int) Math.min(Math.max(v, 0), textureHeight - 1);
-                        final int texColor = textureRaster[texY * textureWidth + texX];
-                        color = ColorMixer.mix(color, texColor);
-                    }
-
-                    if ((color & 0xFF000000) != 0) {
-                        colorRaster[rasterIndex] = ColorMixer.blend(colorRaster[rasterIndex], color);
-                    }
-                }
-            }
+    public static void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect, @Nullable final ImageBuffer textureBuffer,
+                                 final float x1, final float y1, final float z1, final float w1, final int c1, final float u1, final float v1,
+                                 final float x2, final float y2, final float z2, final float w2, final int c2, final float u2, final float v2,
+                                 final float x3, final float y3, final float z3, final float w3, final int c3, final float u3, final float v3) {
+        final TriangleSetup setup = SETUP.get();
+        if (setup.setup(colorBuffer.width(), colorBuffer.height(), clipRect, textureBuffer, x1, y1, z1, w1, c1, u1, v1, x2, y2, z2, w2, c2, u2, v2, x3, y3, z3, w3, c3, u3, v3)) {
+            RasterBackends.get().rasterize(setup, colorBuffer, depthBuffer);
         }
     }
 
+    // Running totals of the current thread, reading them before and after rasterizing a primitive tells how many samples it tested and how many failed the depth test
+    public static long getTestedSamples() {
+        return SETUP.get().testedSamples;
+    }
+
+    public static long getRejectedSamples() {
+        return SETUP.get().rejectedSamples;
+    }
+
+    static void addSamples(final long testedSamples, final long rejectedSamples) {
+        final TriangleSetup setup = SETUP.get();
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
     @Override
-    public void drawWireframe(final Graphics graphics, @Nullable final ClipRect clipRect) {
-        final int x1 = (int) this.v1.x();
-        final int y1 = (int) this.v1.y();
-        final int x2 = (int) this.v2.x();
-        final int y2 = (int) this.v2.y();
-        final int x3 = (int) this.v3.x();
-        final int y3 = (int) this.v3.y();
-
-        final Color previousColor = graphics.getColor();
-        final Shape previousClip = graphics.getClip();
-        graphics.setColor(new Color(this.v1.c(), true));
-        if (clipRect != null) {
-            graphics.setClip(clipRect.minX(), clipRect.minY(), clipRect.minX() + clipRect.maxX(), clipRect.minY() + clipRect.maxY());
-        } else {
-            graphics.setClip(null);
-        }
+    public int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        return countVisibleSamples(width, height, depthBuffer, clipRect, this.v1.x(), this.v1.y(), this.v1.z(), this.v2.x(), this.v2.y(), this.v2.z(), this.v3.x(), this.v3.y(), this.v3.z());
+    }
 
-        graphics.drawLine(x1, y1, x2, y2);
-        graphics.drawLine(x2, y2, x3, y3);
-        graphics.drawLine(x3, y3, x1, y1);
+    public static int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect, final float x1, final float y1, final float z1, final float x2, final float y2, final float z2, final float x3, final float y3, final float z3) {
+        final TriangleSetup setup = SETUP.get();
+        if (setup.setup(width, height, clipRect, null, x1, y1, z1, 1F, 0, 0F, 0F, x2, y2, z2, 1F, 0, 0F, 0F, x3, y3, z3, 1F, 0, 0F, 0F)) {
+            return RasterBackends.get().countVisibleSamples(setup, width, depthBuffer);
+        }
+        return 0;
+    }
 
-        graphics.setColor(previousColor);
-        graphics.setClip(previousClip);
+    @Override
+    public void drawWireframe(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.v1, this.v2);
+        LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.v2, this.v3);
+        LineRasterizer.rasterize(colorBuffer, depthBuffer, clipRect, this.v3, this.v1);
     }
 
     @Override
     public boolean canBeCulled(final CullFace cullFace) {
+        return canBeCulled(cullFace, this.v1.x(), this.v1.y(), this.v2.x(), this.v2.y(), this.v3.x(), this.v3.y());
+    }
+
+    @Override
+    public ClipRect getBounds() {
+        final float minX = Math.min(Math.min(this.v1.x(), this.v2.x()), this.v3.x());
+        final float minY = Math.min(Math.min(this.v1.y(), this.v2.y()), this.v3.y());
+        final float maxX = Math.max(Math.max(this.v1.x(), this.v2.x()), this.v3.x());
+        final float maxY = Math.max(Math.max(this.v1.y(), this.v2.y()), this.v3.y());
+        return new ClipRect((int) Math.floor(minX), (int) Math.floor(minY), (int) Math.ceil(maxX), (int) Math.ceil(maxY));
+    }
+
+    @Override
+    public float getMinDepth() {
+        return Math.min(Math.min(this.v1.z(), this.v2.z()), this.v3.z());
+    }
+
+    public boolean isBackFacing() {
+        return isBackFacing(this.v1.x(), this.v1.y(), this.v2.x(), this.v2.y(), this.v3.x(), this.v3.y());
+    }
+
+    public boolean isFrontFacing() {
+        return isFrontFacing(this.v1.x(), this.v1.y(), this.v2.x(), this.v2.y(), this.v3.x(), this.v3.y());
+    }
+
+    public static boolean canBeCulled(final CullFace cullFace, final float x1, final float y1, final float x2, final float y2, final float x3, final float y3) {
         return switch (cullFace) {
             case NONE -> false;
-            case BACK -> this.isFrontFacing();
-            case FRONT -> this.isBackFacing();
+            case BACK -> isFrontFacing(x1, y1, x2, y2, x3, y3);
+            case FRONT -> isBackFacing(x1, y1, x2, y2, x3, y3);
         };
     }
 
-    public boolean isBackFacing() {
-        return (this.v2.x() - this.v1.x()) * (this.v3.y() - this.v1.y()) - (this.v2.y() - this.v1.y()) * (this.v3.x() - this.v1.x()) < 0;
+    public static boolean isBackFacing(final float x1, final float y1, final float x2, final float y2, final float x3, final float y3) {
+        return (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1) < 0;
     }
 
-    public boolean isFrontFacing() {
-        return (this.v2.x() - this.v1.x()) * (this.v3.y() - this.v1.y()) - (this.v2.y() - this.v1.y()) * (this.v3.x() - this.v1.x()) > 0;
+    public static boolean isFrontFacing(final float x1, final float y1, final float x2, final float y2, final float x3, final float y3) {
+        return (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1) > 0;
     }
 
 }
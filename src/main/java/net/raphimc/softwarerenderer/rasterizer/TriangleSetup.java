@@ -0,0 +1,315 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.Opacity;
+import net.raphimc.softwarerenderer.enums.WrapMode;
+import net.raphimc.softwarerenderer.util.ColorMixer;
+import net.raphimc.softwarerenderer.util.ImageUtil;
+import org.jetbrains.annotations.Nullable;
+
+public final class TriangleSetup {
+
+    private static final int SUBPIXEL_BITS = 4;
+    private static final int SUBPIXEL_SCALE = 1 << SUBPIXEL_BITS;
+    private static final float MAX_COORDINATE = 1 << 20;
+
+    int minX;
+    int minY;
+    int maxX;
+    int maxY;
+    int originX;
+    int originY;
+
+    long edge1;
+    long edge2;
+    long edge3;
+    long stepX1;
+    long stepY1;
+    long stepX2;
+    long stepY2;
+    long stepX3;
+    long stepY3;
+
+    boolean intEdges;
+
+    float z0, dzdx, dzdy;
+    float zMin, zMax;
+    float a0, dadx, dady;
+    float r0, drdx, drdy;
+    float g0, dgdx, dgdy;
+    float b0, dbdx, dbdy;
+    boolean flatShaded;
+    int flatColor;
+    boolean opaque;
+    boolean alphaTested;
+    boolean textureModulated;
+
+    int @Nullable [] textureRaster;
+    int textureWidth;
+    int textureHeight;
+    WrapMode textureWrapMode = WrapMode.CLAMP;
+    boolean texturePowerOfTwo;
+    boolean textureTiled;
+    int textureTilesX;
+    float w0, dwdx, dwdy;
+    float u0, dudx, dudy;
+    float v0, dvdx, dvdy;
+
+    // Running totals of the samples rasterized with this setup, which is reused for every triangle of a thread
+    long testedSamples;
+    long rejectedSamples;
+
+    boolean setup(final int width, final int height, @Nullable final ClipRect clipRect, @Nullable final ImageBuffer textureBuffer,
+                  final float x1, final float y1, final float z1, final float w1, final int c1, final float u1, final float v1,
+                  final float x2, final float y2, final float z2, final float w2, final int c2, final float u2, final float v2,
+                  final float x3, final float y3, final float z3, final float w3, final int c3, final float u3, final float v3) {
+        if (!isInFixedPointRange(x1, y1) || !isInFixedPointRange(x2, y2) || !isInFixedPointRange(x3, y3)) {
+            return false;
+        }
+
+        final long fx1 = toFixedPoint(x1);
+        final long fy1 = toFixedPoint(y1);
+        final long fx2 = toFixedPoint(x2);
+        final long fy2 = toFixedPoint(y2);
+        final long fx3 = toFixedPoint(x3);
+        final long fy3 = toFixedPoint(y3);
+        final long area = (fx2 - fx1) * (fy3 - fy1) - (fy2 - fy1) * (fx3 - fx1);
+        if (area == 0) {
+            return false;
+        }
+        // The edge functions need a consistent winding, so the second and third vertex are swapped for them if the triangle is wound the other way
+        final long ex1 = fx1;
+        final long ey1 = fy1;
+        final long ex2 = area > 0 ? fx2 : fx3;
+        final long ey2 = area > 0 ? fy2 : fy3;
+        final long ex3 = area > 0 ? fx3 : fx2;
+        final long ey3 = area > 0 ? fy3 : fy2;
+
+        final int originX = (int) Math.floorDiv(Math.min(Math.min(ex1, ex2), ex3), SUBPIXEL_SCALE);
+        final int originY = (int) Math.floorDiv(Math.min(Math.min(ey1, ey2), ey3), SUBPIXEL_SCALE);
+        int minX = Math.max(0, originX);
+        int minY = Math.max(0, originY);
+        int maxX = (int) Math.min(width - 1, Math.floorDiv(Math.max(Math.max(ex1, ex2), ex3), SUBPIXEL_SCALE));
+        int maxY = (int) Math.min(height - 1, Math.floorDiv(Math.max(Math.max(ey1, ey2), ey3), SUBPIXEL_SCALE));
+        if (clipRect != null) {
+            minX = Math.max(minX, clipRect.minX());
+            minY = Math.max(minY, clipRect.minY());
+            maxX = Math.min(maxX, clipRect.maxX());
+            maxY = Math.min(maxY, clipRect.maxY());
+        }
+        if (minX > maxX || minY > maxY) {
+            return false;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.originX = originX;
+        this.originY = originY;
+
+        // Edge functions are evaluated at pixel centers. Edges which aren't top or left edges get a bias of -1, so pixels exactly on them are not covered.
+        final long startX = (long) minX * SUBPIXEL_SCALE + SUBPIXEL_SCALE / 2;
+        final long startY = (long) minY * SUBPIXEL_SCALE + SUBPIXEL_SCALE / 2;
+        this.stepX1 = (ey2 - ey3) * SUBPIXEL_SCALE;
+        this.stepY1 = (ex3 - ex2) * SUBPIXEL_SCALE;
+        this.stepX2 = (ey3 - ey1) * SUBPIXEL_SCALE;
+        this.stepY2 = (ex1 - ex3) * SUBPIXEL_SCALE;
+        this.stepX3 = (ey1 - ey2) * SUBPIXEL_SCALE;
+        this.stepY3 = (ex2 - ex1) * SUBPIXEL_SCALE;
+        this.edge1 = (ex3 - ex2) * (startY - ey2) - (ey3 - ey2) * (startX - ex2) + edgeBias(ex2, ey2, ex3, ey3);
+        this.edge2 = (ex1 - ex3) * (startY - ey3) - (ey1 - ey3) * (startX - ex3) + edgeBias(ex3, ey3, ex1, ey1);
+        this.edge3 = (ex2 - ex1) * (startY - ey1) - (ey2 - ey1) * (startX - ex1) + edgeBias(ex1, ey1, ex2, ey2);
+        final long spanX = maxX - minX;
+        final long spanY = maxY - minY;
+        this.intEdges = fitsInt(this.edge1, this.stepX1, this.stepY1, spanX, spanY) && fitsInt(this.edge2, this.stepX2, this.stepY2, spanX, spanY) && fitsInt(this.edge3, this.stepX3, this.stepY3, spanX, spanY);
+
+        final double dx2 = (fx2 - fx1) / (double) SUBPIXEL_SCALE;
+        final double dy2 = (fy2 - fy1) / (double) SUBPIXEL_SCALE;
+        final double dx3 = (fx3 - fx1) / (double) SUBPIXEL_SCALE;
+        final double dy3 = (fy3 - fy1) / (double) SUBPIXEL_SCALE;
+        final double invArea = (SUBPIXEL_SCALE * SUBPIXEL_SCALE) / (double) area;
+        // The attribute planes are anchored at the top left pixel of the unclipped bounding box instead of the screen origin, which keeps their float values small and the same for every tile
+        final double planeOriginX = originX + 0.5 - fx1 / (double) SUBPIXEL_SCALE;
+        final double planeOriginY = originY + 0.5 - fy1 / (double) SUBPIXEL_SCALE;
+
+        this.dzdx = (float) gradientX(z1, z2, z3, dy2, dy3, invArea);
+        this.dzdy = (float) gradientY(z1, z2, z3, dx2, dx3, invArea);
+        this.z0 = (float) (z1 + this.dzdx * planeOriginX + this.dzdy * planeOriginY);
+        this.zMin = Math.min(Math.min(z1, z2), z3);
+        this.zMax = Math.max(Math.max(z1, z2), z3);
+        final int color1 = ColorMixer.premultiply(c1);
+        final int color2 = ColorMixer.premultiply(c2);
+        final int color3 = ColorMixer.premultiply(c3);
+        final double a1 = (color1 >> 24) & 0xFF;
+        this.dadx = (float) gradientX(a1, (color2 >> 24) & 0xFF, (color3 >> 24) & 0xFF, dy2, dy3, invArea);
+        this.dady = (float) gradientY(a1, (color2 >> 24) & 0xFF, (color3 >> 24) & 0xFF, dx2, dx3, invArea);
+        this.a0 = (float) (a1 + this.dadx * planeOriginX + this.dady * planeOriginY);
+        final double r1 = (color1 >> 16) & 0xFF;
+        this.drdx = (float) gradientX(r1, (color2 >> 16) & 0xFF, (color3 >> 16) & 0xFF, dy2, dy3, invArea);
+        this.drdy = (float) gradientY(r1, (color2 >> 16) & 0xFF, (color3 >> 16) & 0xFF, dx2, dx3, invArea);
+        this.r0 = (float) (r1 + this.drdx * planeOriginX + this.drdy * planeOriginY);
+        final double g1 = (color1 >> 8) & 0xFF;
+        this.dgdx = (float) gradientX(g1, (color2 >> 8) & 0xFF, (color3 >> 8) & 0xFF, dy2, dy3, invArea);
+        this.dgdy = (float) gradientY(g1, (color2 >> 8) & 0xFF, (color3 >> 8) & 0xFF, dx2, dx3, invArea);
+        this.g0 = (float) (g1 + this.dgdx * planeOriginX + this.dgdy * planeOriginY);
+        final double b1 = color1 & 0xFF;
+        this.dbdx = (float) gradientX(b1, color2 & 0xFF, color3 & 0xFF, dy2, dy3, invArea);
+        this.dbdy = (float) gradientY(b1, color2 & 0xFF, color3 & 0xFF, dx2, dx3, invArea);
+        this.b0 = (float) (b1 + this.dbdx * planeOriginX + this.dbdy * planeOriginY);
+
+        this.flatShaded = color1 == color2 && color2 == color3;
+        this.flatColor = color1;
+        final boolean opaqueColors = (color1 & color2 & color3) >>> 24 == 0xFF;
+
+        if (textureBuffer != null) {
+            final double wA = 1F / w1;
+            final double dwdx = gradientX(wA, 1F / w2, 1F / w3, dy2, dy3, invArea);
+            final double dwdy = gradientY(wA, 1F / w2, 1F / w3, dx2, dx3, invArea);
+            this.dwdx = (float) dwdx;
+            this.dwdy = (float) dwdy;
+            this.w0 = (float) (wA + this.dwdx * planeOriginX + this.dwdy * planeOriginY);
+
+            ImageBuffer textureLevel = textureBuffer;
+            if (textureBuffer.hasMipmaps()) {
+                final double dudx = gradientX(u1 / w1, u2 / w2, u3 / w3, dy2, dy3, invArea);
+                final double dudy = gradientY(u1 / w1, u2 / w2, u3 / w3, dx2, dx3, invArea);
+                final double dvdx = gradientX(v1 / w1, v2 / w2, v3 / w3, dy2, dy3, invArea);
+                final double dvdy = gradientY(v1 / w1, v2 / w2, v3 / w3, dx2, dx3, invArea);
+                final double footprint1 = getTexelFootprint(textureBuffer, dudx, dudy, dvdx, dvdy, dwdx, dwdy, u1, v1, w1);
+                final double footprint2 = getTexelFootprint(textureBuffer, dudx, dudy, dvdx, dvdy, dwdx, dwdy, u2, v2, w2);
+                final double footprint3 = getTexelFootprint(textureBuffer, dudx, dudy, dvdx, dvdy, dwdx, dwdy, u3, v3, w3);
+                // The smallest footprint is used, so large triangles spanning a wide depth range are not blurred where they are close to the camera
+                final double footprint = Math.min(Math.min(footprint1, footprint2), footprint3);
+                if (footprint >= 4) {
+                    textureLevel = textureBuffer.getMipLevel(Math.getExponent(footprint) / 2);
+                }
+            }
+
+            final int textureWidth = textureLevel.width();
+            final int textureHeight = textureLevel.height();
+            this.textureRaster = textureLevel.isTiled() ? textureLevel.tiledRaster() : textureLevel.raster();
+            this.textureWidth = textureWidth;
+            this.textureHeight = textureHeight;
+            this.textureWrapMode = textureBuffer.wrapMode();
+            this.texturePowerOfTwo = Integer.bitCount(textureWidth) == 1 && Integer.bitCount(textureHeight) == 1;
+            this.textureTiled = textureLevel.isTiled();
+            this.textureTilesX = ImageUtil.getTileCount(textureWidth);
+            this.opaque = opaqueColors && textureLevel.opacity() == Opacity.OPAQUE;
+            this.alphaTested = opaqueColors && textureLevel.opacity() == Opacity.BINARY;
+            this.textureModulated = !this.flatShaded || color1 != 0xFFFFFFFF;
+            final double uA = u1 / w1 * textureWidth;
+            this.dudx = (float) gradientX(uA, u2 / w2 * textureWidth, u3 / w3 * textureWidth, dy2, dy3, invArea);
+            this.dudy = (float) gradientY(uA, u2 / w2 * textureWidth, u3 / w3 * textureWidth, dx2, dx3, invArea);
+            this.u0 = (float) (uA + this.dudx * planeOriginX + this.dudy * planeOriginY);
+            final double vA = v1 / w1 * textureHeight;
+            this.dvdx = (float) gradientX(vA, v2 / w2 * textureHeight, v3 / w3 * textureHeight, dy2, dy3, invArea);
+            this.dvdy = (float) gradientY(vA, v2 / w2 * textureHeight, v3 / w3 * textureHeight, dx2, dx3, invArea);
+            this.v0 = (float) (vA + this.dvdx * planeOriginX + this.dvdy * planeOriginY);
+        } else {
+            this.textureRaster = null;
+            this.textureWidth = this.textureHeight = 0;
+            this.opaque = opaqueColors;
+            this.alphaTested = false;
+            this.textureModulated = false;
+            this.w0 = this.dwdx = this.dwdy = 0;
+            this.u0 = this.dudx = this.dudy = 0;
+            this.v0 = this.dvdx = this.dvdy = 0;
+        }
+        return true;
+    }
+
+    int getTexelIndex(final float u, final float v) {
+        final int texX = this.wrap(u, this.textureWidth);
+        final int texY = this.wrap(v, this.textureHeight);
+        return this.textureTiled ? ImageUtil.getTiledIndex(texX, texY, this.textureTilesX) : texY * this.textureWidth + texX;
+    }
+
+    private int wrap(final float coordinate, final int size) {
+        if (this.textureWrapMode == WrapMode.CLAMP) {
+            return (int) Math.min(Math.max(coordinate, 0F), size - 1);
+        }
+
+        int texel = (int) coordinate;
+        if (coordinate < texel) {
+            texel--;
+        }
+        if (this.texturePowerOfTwo) {
+            return switch (this.textureWrapMode) {
+                case REPEAT -> texel & (size - 1);
+                case MIRROR -> {
+                    final int mirrored = texel & (size * 2 - 1);
+                    yield mirrored < size ? mirrored : mirrored ^ (size * 2 - 1);
+                }
+                default -> throw new IllegalStateException("Unexpected wrap mode: " + this.textureWrapMode);
+            };
+        } else {
+            return switch (this.textureWrapMode) {
+                case REPEAT -> Math.floorMod(texel, size);
+                case MIRROR -> {
+                    final int mirrored = Math.floorMod(texel, size * 2);
+                    yield mirrored < size ? mirrored : size * 2 - 1 - mirrored;
+                }
+                default -> throw new IllegalStateException("Unexpected wrap mode: " + this.textureWrapMode);
+            };
+        }
+    }
+
+    private static boolean isInFixedPointRange(final float x, final float y) {
+        return Math.abs(x) <= MAX_COORDINATE && Math.abs(y) <= MAX_COORDINATE;
+    }
+
+    private static long toFixedPoint(final float coordinate) {
+        return Math.round(coordinate * SUBPIXEL_SCALE);
+    }
+
+    private static long edgeBias(final long fromX, final long fromY, final long toX, final long toY) {
+        final boolean isTopEdge = fromY == toY && toX > fromX;
+        final boolean isLeftEdge = toY < fromY;
+        return isTopEdge || isLeftEdge ? 0 : -1;
+    }
+
+    private static boolean fitsInt(final long edge, final long stepX, final long stepY, final long spanX, final long spanY) {
+        // Edge functions are linear, so their extremes over the bounding box are at its corners
+        return isInt(edge) && isInt(edge + stepX * spanX) && isInt(edge + stepY * spanY) && isInt(edge + stepX * spanX + stepY * spanY);
+    }
+
+    private static boolean isInt(final long value) {
+        return value == (int) value;
+    }
+
+    // Squared base level texel footprint of a pixel step at a vertex, where u / w and 1 / w are known exactly
+    private static double getTexelFootprint(final ImageBuffer textureBuffer, final double dudx, final double dudy, final double dvdx, final double dvdy, final double dwdx, final double dwdy, final float u, final float v, final float w) {
+        final double texelsUX = (dudx - u * dwdx) * w * textureBuffer.width();
+        final double texelsUY = (dudy - u * dwdy) * w * textureBuffer.width();
+        final double texelsVX = (dvdx - v * dwdx) * w * textureBuffer.height();
+        final double texelsVY = (dvdy - v * dwdy) * w * textureBuffer.height();
+        return Math.max(texelsUX * texelsUX + texelsVX * texelsVX, texelsUY * texelsUY + texelsVY * texelsVY);
+    }
+
+    private static double gradientX(final double a1, final double a2, final double a3, final double ey2, final double ey3, final double invArea) {
+        return ((a2 - a1) * ey3 - (a3 - a1) * ey2) * invArea;
+    }
+
+    private static double gradientY(final double a1, final double a2, final double a3, final double ex2, final double ex3, final double invArea) {
+        return ((a3 - a1) * ex2 - (a2 - a1) * ex3) * invArea;
+    }
+
+}
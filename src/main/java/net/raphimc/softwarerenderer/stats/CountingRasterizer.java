@@ -0,0 +1,63 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.stats;
+
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.CullFace;
+import net.raphimc.softwarerenderer.rasterizer.Rasterizer;
+import net.raphimc.softwarerenderer.rasterizer.TriangleRasterizer;
+import org.jetbrains.annotations.Nullable;
+
+// Counts the samples the backend tested while rasterizing the wrapped rasterizer, so primitives rejected by the hierarchical depth test are not counted
+public record CountingRasterizer(Rasterizer rasterizer, RenderStats renderStats) implements Rasterizer {
+
+    @Override
+    public void rasterize(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        final long testedSamples = TriangleRasterizer.getTestedSamples();
+        final long rejectedSamples = TriangleRasterizer.getRejectedSamples();
+        this.rasterizer.rasterize(colorBuffer, depthBuffer, clipRect);
+        this.renderStats.addSamples(TriangleRasterizer.getTestedSamples() - testedSamples, TriangleRasterizer.getRejectedSamples() - rejectedSamples);
+    }
+
+    @Override
+    public int countVisibleSamples(final int width, final int height, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        return this.rasterizer.countVisibleSamples(width, height, depthBuffer, clipRect);
+    }
+
+    @Override
+    public void drawWireframe(final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer, @Nullable final ClipRect clipRect) {
+        this.rasterizer.drawWireframe(colorBuffer, depthBuffer, clipRect);
+    }
+
+    @Override
+    public boolean canBeCulled(final CullFace cullFace) {
+        return this.rasterizer.canBeCulled(cullFace);
+    }
+
+    @Override
+    public ClipRect getBounds() {
+        return this.rasterizer.getBounds();
+    }
+
+    @Override
+    public float getMinDepth() {
+        return this.rasterizer.getMinDepth();
+    }
+
+}
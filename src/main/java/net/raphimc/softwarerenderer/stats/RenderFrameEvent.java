@@ -0,0 +1,71 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("net.raphimc.softwarerenderer.RenderFrame")
+@Label("Render Frame")
+@Category({"SoftwareRenderer", "Rendering"})
+@Description("Statistics of a frame rendered by a SoftwareRenderer")
+@StackTrace(false)
+class RenderFrameEvent extends Event {
+
+    @Label("Draw Calls")
+    int drawCalls;
+
+    @Label("Primitives Submitted")
+    long primitivesSubmitted;
+
+    @Label("Primitives Culled")
+    long primitivesCulled;
+
+    @Label("Primitives Clipped")
+    long primitivesClipped;
+
+    @Label("Pixels Tested")
+    long pixelsTested;
+
+    @Label("Pixels Depth Rejected")
+    long pixelsDepthRejected;
+
+    @Label("Pixels Written")
+    long pixelsWritten;
+
+    @Label("Overdraw")
+    float overdraw;
+
+    @Label("Projection Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long projectionTime;
+
+    @Label("Raster Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long rasterTime;
+
+    @Label("Present Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long presentTime;
+
+}
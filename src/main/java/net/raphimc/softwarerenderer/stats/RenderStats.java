@@ -0,0 +1,203 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class RenderStats {
+
+    private final LongAdder pixelsTested = new LongAdder();
+    private final LongAdder pixelsDepthRejected = new LongAdder();
+    private final LongAdder pixelsWritten = new LongAdder();
+    private int screenPixels;
+    private long frameCount;
+    private int drawCalls;
+    private long primitivesSubmitted;
+    private long primitivesCulled;
+    private long primitivesClipped;
+    private long projectionNanos;
+    private long rasterNanos;
+    private long presentNanos;
+    private RenderFrameEvent frameEvent;
+    private RenderDrawEvent drawEvent;
+
+    public RenderStats(final int width, final int height) {
+        this.setScreenSize(width, height);
+    }
+
+    public void beginFrame() {
+        this.reset();
+        this.frameEvent = new RenderFrameEvent();
+        this.frameEvent.begin();
+    }
+
+    public void endFrame() {
+        this.frameCount++;
+        final RenderFrameEvent event = this.frameEvent;
+        if (event == null) {
+            return;
+        }
+        this.frameEvent = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.drawCalls = this.drawCalls;
+            event.primitivesSubmitted = this.primitivesSubmitted;
+            event.primitivesCulled = this.primitivesCulled;
+            event.primitivesClipped = this.primitivesClipped;
+            event.pixelsTested = this.pixelsTested.sum();
+            event.pixelsDepthRejected = this.pixelsDepthRejected.sum();
+            event.pixelsWritten = this.pixelsWritten.sum();
+            event.overdraw = this.getOverdraw();
+            event.projectionTime = this.projectionNanos;
+            event.rasterTime = this.rasterNanos;
+            event.presentTime = this.presentNanos;
+            event.commit();
+        }
+    }
+
+    public void reset() {
+        this.pixelsTested.reset();
+        this.pixelsDepthRejected.reset();
+        this.pixelsWritten.reset();
+        this.drawCalls = 0;
+        this.primitivesSubmitted = 0;
+        this.primitivesCulled = 0;
+        this.primitivesClipped = 0;
+        this.projectionNanos = 0;
+        this.rasterNanos = 0;
+        this.presentNanos = 0;
+    }
+
+    // Draw events store the counters at the start of the draw and replace them with the difference when they are committed
+    public void beginDraw(final String drawType) {
+        this.drawCalls++;
+        final RenderDrawEvent event = new RenderDrawEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.drawType = drawType;
+        event.primitivesSubmitted = this.primitivesSubmitted;
+        event.primitivesCulled = this.primitivesCulled;
+        event.primitivesClipped = this.primitivesClipped;
+        event.pixelsTested = this.pixelsTested.sum();
+        event.pixelsDepthRejected = this.pixelsDepthRejected.sum();
+        event.pixelsWritten = this.pixelsWritten.sum();
+        event.begin();
+        this.drawEvent = event;
+    }
+
+    public void endDraw() {
+        final RenderDrawEvent event = this.drawEvent;
+        if (event == null) {
+            return;
+        }
+        this.drawEvent = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.primitivesSubmitted = this.primitivesSubmitted - event.primitivesSubmitted;
+            event.primitivesCulled = this.primitivesCulled - event.primitivesCulled;
+            event.primitivesClipped = this.primitivesClipped - event.primitivesClipped;
+            event.pixelsTested = this.pixelsTested.sum() - event.pixelsTested;
+            event.pixelsDepthRejected = this.pixelsDepthRejected.sum() - event.pixelsDepthRejected;
+            event.pixelsWritten = this.pixelsWritten.sum() - event.pixelsWritten;
+            event.commit();
+        }
+    }
+
+    public void addPrimitives(final int submitted, final int culled, final int clipped) {
+        this.primitivesSubmitted += submitted;
+        this.primitivesCulled += culled;
+        this.primitivesClipped += clipped;
+    }
+
+    // Safe to call from the tile workers
+    public void addSamples(final long tested, final long depthRejected) {
+        this.pixelsTested.add(tested);
+        this.pixelsDepthRejected.add(depthRejected);
+        this.pixelsWritten.add(tested - depthRejected);
+    }
+
+    public void addProjectionTime(final long nanos) {
+        this.projectionNanos += nanos;
+    }
+
+    public void addRasterTime(final long nanos) {
+        this.rasterNanos += nanos;
+    }
+
+    public void addPresentTime(final long nanos) {
+        this.presentNanos += nanos;
+    }
+
+    public void setScreenSize(final int width, final int height) {
+        this.screenPixels = width * height;
+    }
+
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+    public int getDrawCalls() {
+        return this.drawCalls;
+    }
+
+    public long getPrimitivesSubmitted() {
+        return this.primitivesSubmitted;
+    }
+
+    public long getPrimitivesCulled() {
+        return this.primitivesCulled;
+    }
+
+    public long getPrimitivesClipped() {
+        return this.primitivesClipped;
+    }
+
+    public long getPixelsTested() {
+        return this.pixelsTested.sum();
+    }
+
+    public long getPixelsDepthRejected() {
+        return this.pixelsDepthRejected.sum();
+    }
+
+    public long getPixelsWritten() {
+        return this.pixelsWritten.sum();
+    }
+
+    public float getOverdraw() {
+        return this.screenPixels > 0 ? (float) this.pixelsWritten.sum() / this.screenPixels : 0F;
+    }
+
+    public float getProjectionTime() {
+        return toMillis(this.projectionNanos);
+    }
+
+    public float getRasterTime() {
+        return toMillis(this.rasterNanos);
+    }
+
+    public float getPresentTime() {
+        return toMillis(this.presentNanos);
+    }
+
+    private static float toMillis(final long nanos) {
+        return (float) (nanos / 1_000_000D);
+    }
+
+}
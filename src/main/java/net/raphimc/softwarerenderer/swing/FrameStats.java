@@ -0,0 +1,157 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.swing;
+
+import java.util.Arrays;
+
+public class FrameStats {
+
+    public static final int DEFAULT_SAMPLE_COUNT = 240;
+
+    private final Samples frameIntervals;
+    private final Samples renderTimes;
+    private final Samples presentTimes;
+    private long frameCount;
+
+    public FrameStats() {
+        this(DEFAULT_SAMPLE_COUNT);
+    }
+
+    public FrameStats(final int sampleCount) {
+        this.frameIntervals = new Samples(sampleCount);
+        this.renderTimes = new Samples(sampleCount);
+        this.presentTimes = new Samples(sampleCount);
+    }
+
+    public synchronized void recordFrame(final long intervalNanos, final long renderNanos) {
+        if (intervalNanos > 0) {
+            this.frameIntervals.add(intervalNanos);
+        }
+        this.renderTimes.add(renderNanos);
+        this.frameCount++;
+    }
+
+    public synchronized void recordPresent(final long presentNanos) {
+        this.presentTimes.add(presentNanos);
+    }
+
+    public synchronized void reset() {
+        this.frameIntervals.clear();
+        this.renderTimes.clear();
+        this.presentTimes.clear();
+        this.frameCount = 0;
+    }
+
+    public synchronized float getFps() {
+        final double averageInterval = this.frameIntervals.average();
+        return averageInterval > 0 ? (float) (1_000_000_000D / averageInterval) : 0F;
+    }
+
+    public synchronized float getAverageFrameTime() {
+        return toMillis(this.frameIntervals.average());
+    }
+
+    public synchronized float getMinFrameTime() {
+        return toMillis(this.frameIntervals.min());
+    }
+
+    public synchronized float getMaxFrameTime() {
+        return toMillis(this.frameIntervals.max());
+    }
+
+    public synchronized float getFrameTimePercentile(final float percentile) {
+        return toMillis(this.frameIntervals.percentile(percentile));
+    }
+
+    public synchronized float getAverageRenderTime() {
+        return toMillis(this.renderTimes.average());
+    }
+
+    public synchronized float getAveragePresentTime() {
+        return toMillis(this.presentTimes.average());
+    }
+
+    public synchronized long getFrameCount() {
+        return this.frameCount;
+    }
+
+    private static float toMillis(final double nanos) {
+        return (float) (nanos / 1_000_000D);
+    }
+
+    private static class Samples {
+
+        private final long[] values;
+        private int count;
+        private int index;
+
+        private Samples(final int capacity) {
+            this.values = new long[capacity];
+        }
+
+        private void add(final long value) {
+            this.values[this.index] = value;
+            this.index = (this.index + 1) % this.values.length;
+            this.count = Math.min(this.count + 1, this.values.length);
+        }
+
+        private void clear() {
+            this.count = 0;
+            this.index = 0;
+        }
+
+        private double average() {
+            if (this.count == 0) {
+                return 0;
+            }
+            long sum = 0;
+            for (int i = 0; i < this.count; i++) {
+                sum += this.values[i];
+            }
+            return (double) sum / this.count;
+        }
+
+        private long min() {
+            long min = this.count == 0 ? 0 : Long.MAX_VALUE;
+            for (int i = 0; i < this.count; i++) {
+                min = Math.min(min, this.values[i]);
+            }
+            return min;
+        }
+
+        private long max() {
+            long max = 0;
+            for (int i = 0; i < this.count; i++) {
+                max = Math.max(max, this.values[i]);
+            }
+            return max;
+        }
+
+        private long percentile(final float percentile) {
+            if (this.count == 0) {
+                return 0;
+            }
+            final long[] sorted = Arrays.copyOf(this.values, this.count);
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(percentile / 100F * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+        }
+
+    }
+
+}
@@ -18,6 +18,10 @@
 package net.raphimc.softwarerenderer.swing;
 
 import net.raphimc.softwarerenderer.SoftwareRenderer;
+import net.raphimc.softwarerenderer.data.ClipRect;
+import net.raphimc.softwarerenderer.rasterizer.DirtyRegion;
+import net.raphimc.softwarerenderer.stats.RenderStats;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
 import java.awt.event.ComponentAdapter;
@@ -25,14 +29,38 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.HierarchyEvent;
 import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.BiFunction;
 
 public abstract class SoftwareRendererCanvas<R extends SoftwareRenderer> extends Canvas implements Runnable {
 
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
     private final BiFunction<Integer, Integer, R> rendererSupplier;
     private BufferStrategy bufferStrategy;
+    private final AtomicReference<Dimension> pendingSize = new AtomicReference<>();
     private R renderer;
-    private Thread renderThread;
+    private R secondaryRenderer;
+    private boolean secondaryFrame;
+    private volatile Thread renderThread;
+    private Thread presentThread;
+    private final List<ClipRect> pendingDirtyRects = new ArrayList<>();
+    private DirtyRegion damage;
+    private DirtyRegion secondaryDamage;
+    private final Object presentLock = new Object();
+    private R presentedRenderer;
+    private ClipRect presentedRepairRect;
+    private final FrameStats frameStats = new FrameStats();
+    private volatile boolean partialRedraw;
+    private volatile boolean exposed;
+    private volatile boolean pipelined;
+    private volatile int targetFps;
+    private volatile boolean vSync;
+    private volatile int refreshRate = DEFAULT_REFRESH_RATE;
     protected volatile float frameTime;
 
     public SoftwareRendererCanvas(final BiFunction<Integer, Integer, R> rendererSupplier) {
@@ -40,27 +68,40 @@ public abstract class SoftwareRendererCanvas<R extends SoftwareRenderer> extends
         this.addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(final ComponentEvent event) {
-                final int width = event.getComponent().getWidth();
-                final int height = event.getComponent().getHeight();
-                SoftwareRendererCanvas.this.renderer = SoftwareRendererCanvas.this.rendererSupplier.apply(width, height);
+                // Resizes are applied by the render thread between frames, so a burst of events only resizes the renderers once
+                SoftwareRendererCanvas.this.pendingSize.set(event.getComponent().getSize());
+                if (SoftwareRendererCanvas.this.renderThread != null) {
+                    LockSupport.unpark(SoftwareRendererCanvas.this.renderThread);
+                }
             }
         });
         this.addHierarchyListener(event -> {
             if ((event.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0) {
                 if (this.renderThread != null) {
                     this.renderThread.interrupt();
+                    this.presentThread.interrupt();
                     try {
                         this.renderThread.join(1000);
+                        this.presentThread.join(1000);
                     } catch (InterruptedException e) {
                         throw new RuntimeException(e);
                     }
                     this.renderThread = null;
+                    this.presentThread = null;
+                    synchronized (this.presentLock) {
+                        this.presentedRenderer = null;
+                    }
                 }
                 if (event.getComponent().isDisplayable()) {
                     this.createBufferStrategy(2);
                     this.bufferStrategy = this.getBufferStrategy();
+                    final int refreshRate = this.getGraphicsConfiguration().getDevice().getDisplayMode().getRefreshRate();
+                    this.refreshRate = refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN ? refreshRate : DEFAULT_REFRESH_RATE;
                     this.renderThread = new Thread(this, this.getClass().getSimpleName() + "-RenderThread");
                     this.renderThread.setDaemon(true);
+                    this.presentThread = new Thread(this::presentLoop, this.getClass().getSimpleName() + "-PresentThread");
+                    this.presentThread.setDaemon(true);
+                    this.presentThread.start();
                     this.renderThread.start();
                 }
             }
@@ -69,37 +110,312 @@ public abstract class SoftwareRendererCanvas<R extends SoftwareRenderer> extends
 
     @Override
     public void run() {
+        long nextFrameTime = System.nanoTime();
+        long lastFrameStart = 0;
         while (!Thread.currentThread().isInterrupted()) {
-            if (this.renderer == null || this.bufferStrategy == null) {
+            final Dimension size = this.pendingSize.getAndSet(null);
+            if (size != null && size.width > 0 && size.height > 0) {
+                try {
+                    this.resizeRenderers(size.width, size.height);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            final R primaryRenderer = this.renderer;
+            if (primaryRenderer == null || this.bufferStrategy == null) {
+                // The resize listener unparks the thread as soon as there is a renderer
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
                 continue;
             }
+            final boolean pipelined = this.pipelined;
+            final R renderer = pipelined ? this.getPipelinedRenderer(primaryRenderer) : primaryRenderer;
+            final R otherRenderer = renderer == primaryRenderer ? this.secondaryRenderer : primaryRenderer;
             final long start = System.nanoTime();
-            this.renderer.clearColorBuffer();
-            this.renderer.clearDepthBuffer();
-            this.render(this.renderer);
-            final BufferedImage image = this.renderer.getImage();
-            do {
-                do {
-                    final Graphics graphics = this.bufferStrategy.getDrawGraphics();
-                    if (graphics == null) {
-                        continue;
+            ClipRect repairRect = null;
+            if (this.partialRedraw) {
+                final DirtyRegion damage = this.getDamage(renderer);
+                synchronized (this.pendingDirtyRects) {
+                    for (ClipRect rect : this.pendingDirtyRects) {
+                        damage.add(rect);
+                        // The other renderer has not seen this damage yet either, so it repairs it the next time it is used
+                        if (otherRenderer != null) {
+                            this.getDamage(otherRenderer).add(rect);
+                        }
                     }
-                    graphics.setColor(this.getClearColor());
-                    graphics.fillRect(0, 0, this.getWidth(), this.getHeight());
-                    graphics.setColor(Color.WHITE);
-                    graphics.drawImage(image, 0, 0, this.getWidth(), this.getHeight(), null);
-                    graphics.dispose();
-                } while (this.bufferStrategy.contentsRestored());
-                this.bufferStrategy.show();
-            } while (this.bufferStrategy.contentsLost());
+                    this.pendingDirtyRects.clear();
+                }
+                repairRect = damage.getBounds();
+                if (repairRect == null) {
+                    try {
+                        // Without new damage the image is unchanged, but window contents destroyed by the system still have to be restored
+                        if (this.exposed || this.bufferStrategy.contentsLost()) {
+                            this.exposed = false;
+                            this.awaitPresent();
+                            this.present(renderer, null);
+                        } else {
+                            // New damage and exposes unpark the thread, the timeout only bounds how late lost buffer contents are noticed
+                            LockSupport.parkNanos(IDLE_PARK_NANOS);
+                        }
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                    continue;
+                }
+            } else {
+                this.damage = null;
+                this.secondaryDamage = null;
+                synchronized (this.pendingDirtyRects) {
+                    this.pendingDirtyRects.clear();
+                }
+            }
+            // Only frames that are actually rendered reset the stats, an idle canvas keeps showing those of the last rendered frame
+            final RenderStats renderStats = renderer.getRenderStats();
+            if (renderStats != null) {
+                renderStats.beginFrame();
+            }
+            if (repairRect != null) {
+                renderer.clearColorBuffer(repairRect);
+                renderer.clearDepthBuffer(repairRect);
+                final ClipRect previousClipRect = renderer.getClipRect();
+                renderer.setClipRect(repairRect);
+                this.render(renderer);
+                renderer.setClipRect(previousClipRect);
+                this.getDamage(renderer).clear();
+            } else {
+                renderer.clearColorBuffer();
+                renderer.clearDepthBuffer();
+                this.render(renderer);
+            }
+            final long renderEnd = System.nanoTime();
+            this.frameStats.recordFrame(lastFrameStart != 0 ? start - lastFrameStart : 0, renderEnd - start);
+            lastFrameStart = start;
+
+            try {
+                if (pipelined) {
+                    this.queuePresent(renderer, repairRect);
+                } else {
+                    this.awaitPresent();
+                    this.present(renderer, repairRect);
+                    this.recordPresent(renderer, System.nanoTime() - renderEnd);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
             this.frameTime = (float) (System.nanoTime() - start) / 1_000_000F;
+
+            final long framePeriod = this.getFramePeriod();
+            if (framePeriod > 0) {
+                nextFrameTime += framePeriod;
+                final long now = System.nanoTime();
+                if (nextFrameTime < now) {
+                    // Frames that took too long are not made up for by rendering the following ones faster
+                    nextFrameTime = now;
+                }
+                long remaining;
+                while ((remaining = nextFrameTime - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+                    LockSupport.parkNanos(remaining);
+                }
+            } else {
+                nextFrameTime = System.nanoTime();
+            }
         }
     }
 
+    @Override
+    public void paint(final Graphics graphics) {
+        // Called when the system damaged the window contents, which the render thread restores by presenting the last frame again
+        this.exposed = true;
+        LockSupport.unpark(this.renderThread);
+    }
+
+    @Override
+    public void update(final Graphics graphics) {
+        this.paint(graphics);
+    }
+
+    public void markDirty(final ClipRect rect) {
+        synchronized (this.pendingDirtyRects) {
+            this.pendingDirtyRects.add(rect);
+        }
+        LockSupport.unpark(this.renderThread);
+    }
+
+    public FrameStats getFrameStats() {
+        return this.frameStats;
+    }
+
+    public void setPartialRedraw(final boolean partialRedraw) {
+        this.partialRedraw = partialRedraw;
+    }
+
+    public boolean isPartialRedraw() {
+        return this.partialRedraw;
+    }
+
+    public void setPipelined(final boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    public boolean isPipelined() {
+        return this.pipelined;
+    }
+
+    public void setTargetFps(final int targetFps) {
+        this.targetFps = targetFps;
+    }
+
+    public int getTargetFps() {
+        return this.targetFps;
+    }
+
+    public void setVSync(final boolean vSync) {
+        this.vSync = vSync;
+    }
+
+    public boolean isVSync() {
+        return this.vSync;
+    }
+
     protected abstract void render(final R renderer);
 
     protected Color getClearColor() {
         return Color.BLACK;
     }
 
+    private void resizeRenderers(final int width, final int height) throws InterruptedException {
+        // The present thread may still be reading one of the renderers
+        this.awaitPresent();
+        if (this.renderer == null) {
+            this.renderer = this.rendererSupplier.apply(width, height);
+        } else {
+            this.renderer.resize(width, height);
+        }
+        if (this.secondaryRenderer != null) {
+            this.secondaryRenderer.resize(width, height);
+        }
+        this.damage = null;
+        this.secondaryDamage = null;
+    }
+
+    // Damage is tracked per renderer, since each one has to repair everything that changed since it was last rendered into
+    private DirtyRegion getDamage(final R renderer) {
+        if (renderer == this.renderer) {
+            if (this.damage == null) {
+                this.damage = createDamage(renderer);
+            }
+            return this.damage;
+        } else {
+            if (this.secondaryDamage == null) {
+                this.secondaryDamage = createDamage(renderer);
+            }
+            return this.secondaryDamage;
+        }
+    }
+
+    private static DirtyRegion createDamage(final SoftwareRenderer renderer) {
+        final DirtyRegion damage = new DirtyRegion(renderer.getColorBuffer().width(), renderer.getColorBuffer().height());
+        damage.addAll();
+        return damage;
+    }
+
+    private R getPipelinedRenderer(final R primaryRenderer) {
+        if (this.secondaryRenderer == null) {
+            final BufferedImage image = primaryRenderer.getImage();
+            this.secondaryRenderer = this.rendererSupplier.apply(image.getWidth(), image.getHeight());
+            this.secondaryFrame = false;
+        }
+        this.secondaryFrame = !this.secondaryFrame;
+        return this.secondaryFrame ? this.secondaryRenderer : primaryRenderer;
+    }
+
+    private long getFramePeriod() {
+        final int fps = this.vSync ? this.refreshRate : this.targetFps;
+        return fps > 0 ? 1_000_000_000L / fps : 0;
+    }
+
+    // Waits until the previous frame has been presented, which is also the last use of the renderer that is rendered into next
+    private void queuePresent(final R renderer, @Nullable final ClipRect repairRect) throws InterruptedException {
+        synchronized (this.presentLock) {
+            while (this.presentedRenderer != null) {
+                this.presentLock.wait();
+            }
+            this.presentedRenderer = renderer;
+            this.presentedRepairRect = repairRect;
+            this.presentLock.notifyAll();
+        }
+    }
+
+    private void awaitPresent() throws InterruptedException {
+        synchronized (this.presentLock) {
+            while (this.presentedRenderer != null) {
+                this.presentLock.wait();
+            }
+        }
+    }
+
+    private void presentLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            final R renderer;
+            final ClipRect repairRect;
+            try {
+                synchronized (this.presentLock) {
+                    while (this.presentedRenderer == null) {
+                        this.presentLock.wait();
+                    }
+                    renderer = this.presentedRenderer;
+                    repairRect = this.presentedRepairRect;
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            final long start = System.nanoTime();
+            this.present(renderer, repairRect);
+            this.recordPresent(renderer, System.nanoTime() - start);
+            synchronized (this.presentLock) {
+                this.presentedRenderer = null;
+                this.presentLock.notifyAll();
+            }
+        }
+    }
+
+    // The frame of a renderer ends once it has been presented, which happens on the present thread when pipelined
+    private void recordPresent(final R renderer, final long presentNanos) {
+        this.frameStats.recordPresent(presentNanos);
+        final RenderStats renderStats = renderer.getRenderStats();
+        if (renderStats != null) {
+            renderStats.addPresentTime(presentNanos);
+            renderStats.endFrame();
+        }
+    }
+
+    private void present(final R renderer, @Nullable final ClipRect repairRect) {
+        final BufferedImage image = renderer.getImage();
+        // Page flipping does not preserve the back buffer, so only blitted buffers can be presented partially
+        boolean fullPresent = repairRect == null || image.getWidth() != this.getWidth() || image.getHeight() != this.getHeight() || this.bufferStrategy.getCapabilities().isPageFlipping();
+        do {
+            boolean contentsRestored;
+            do {
+                final Graphics graphics = this.bufferStrategy.getDrawGraphics();
+                if (graphics != null) {
+                    if (fullPresent) {
+                        graphics.setColor(this.getClearColor());
+                        graphics.fillRect(0, 0, this.getWidth(), this.getHeight());
+                        graphics.setColor(Color.WHITE);
+                        graphics.drawImage(image, 0, 0, this.getWidth(), this.getHeight(), null);
+                    } else {
+                        graphics.drawImage(image, repairRect.minX(), repairRect.minY(), repairRect.maxX() + 1, repairRect.maxY() + 1, repairRect.minX(), repairRect.minY(), repairRect.maxX() + 1, repairRect.maxY() + 1, null);
+                    }
+                    graphics.dispose();
+                }
+                contentsRestored = this.bufferStrategy.contentsRestored();
+                fullPresent |= contentsRestored;
+            } while (contentsRestored);
+            this.bufferStrategy.show();
+            fullPresent = true;
+        } while (this.bufferStrategy.contentsLost());
+        if (this.vSync) {
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+
 }
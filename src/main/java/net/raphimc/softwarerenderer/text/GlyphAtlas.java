@@ -0,0 +1,184 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.text;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.vertex.SpriteBatch;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+public class GlyphAtlas {
+
+    public static final String DEFAULT_CHARACTERS = createCharacterRange(0x20, 0x7E) + createCharacterRange(0xA0, 0xFF);
+    private static final int MIN_WIDTH = 256;
+    private static final int PADDING = 1;
+
+    private final ImageBuffer texture;
+    private final Glyph[] latinGlyphs = new Glyph[256];
+    private final Map<Integer, Glyph> glyphs = new HashMap<>();
+    private final int ascent;
+    private final int descent;
+    private final int lineHeight;
+    @Nullable
+    private final Glyph fallbackGlyph;
+
+    public GlyphAtlas(final Font font) {
+        this(font, DEFAULT_CHARACTERS, true);
+    }
+
+    public GlyphAtlas(final Font font, final String characters, final boolean antialiasing) {
+        final FontRenderContext fontRenderContext = new FontRenderContext(null, antialiasing, false);
+        final int[] codePoints = characters.codePoints().distinct().toArray();
+        final GlyphVector[] glyphVectors = new GlyphVector[codePoints.length];
+        final Rectangle[] glyphBounds = new Rectangle[codePoints.length];
+        int width = MIN_WIDTH;
+        for (int i = 0; i < codePoints.length; i++) {
+            glyphVectors[i] = font.createGlyphVector(fontRenderContext, Character.toString(codePoints[i]));
+            glyphBounds[i] = glyphVectors[i].getPixelBounds(fontRenderContext, 0F, 0F);
+            while (glyphBounds[i].width + PADDING > width) {
+                width *= 2;
+            }
+        }
+
+        // Glyphs are packed into rows from left to right, a new row starts when the current one is full
+        final int[] glyphX = new int[codePoints.length];
+        final int[] glyphY = new int[codePoints.length];
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        for (int i = 0; i < codePoints.length; i++) {
+            final Rectangle bounds = glyphBounds[i];
+            if (bounds.isEmpty()) {
+                continue;
+            }
+            if (x + bounds.width + PADDING > width) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            glyphX[i] = x;
+            glyphY[i] = y;
+            x += bounds.width + PADDING;
+            rowHeight = Math.max(rowHeight, bounds.height + PADDING);
+        }
+        final int height = Math.max(1, Integer.highestOneBit(Math.max(1, y + rowHeight) - 1) << 1);
+
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialiasing ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        for (int i = 0; i < codePoints.length; i++) {
+            final Rectangle bounds = glyphBounds[i];
+            if (!bounds.isEmpty()) {
+                graphics.drawGlyphVector(glyphVectors[i], glyphX[i] - bounds.x, glyphY[i] - bounds.y);
+            }
+            final Glyph glyph = new Glyph(glyphX[i], glyphY[i], bounds.isEmpty() ? 0 : bounds.width, bounds.isEmpty() ? 0 : bounds.height, bounds.x, bounds.y, glyphVectors[i].getGlyphMetrics(0).getAdvance());
+            if (codePoints[i] < this.latinGlyphs.length) {
+                this.latinGlyphs[codePoints[i]] = glyph;
+            } else {
+                this.glyphs.put(codePoints[i], glyph);
+            }
+        }
+        final FontMetrics fontMetrics = graphics.getFontMetrics(font);
+        graphics.dispose();
+
+        this.texture = new ImageBuffer(image);
+        this.ascent = fontMetrics.getAscent();
+        this.descent = fontMetrics.getDescent();
+        this.lineHeight = fontMetrics.getHeight();
+        this.fallbackGlyph = this.getGlyph('?');
+    }
+
+    public float appendString(final SpriteBatch spriteBatch, final String text, final float x, final float y, final int c) {
+        final float invWidth = 1F / this.texture.width();
+        final float invHeight = 1F / this.texture.height();
+        float penX = x;
+        for (int i = 0; i < text.length(); ) {
+            final int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            Glyph glyph = this.getGlyph(codePoint);
+            if (glyph == null) {
+                glyph = this.fallbackGlyph;
+                if (glyph == null) {
+                    continue;
+                }
+            }
+            if (glyph.width() > 0) {
+                spriteBatch.sprite(penX + glyph.offsetX(), y + glyph.offsetY(), glyph.width(), glyph.height(),
+                        glyph.x() * invWidth, glyph.y() * invHeight, (glyph.x() + glyph.width()) * invWidth, (glyph.y() + glyph.height()) * invHeight, c);
+            }
+            penX += glyph.advance();
+        }
+        return penX;
+    }
+
+    public float getStringWidth(final String text) {
+        float width = 0F;
+        for (int i = 0; i < text.length(); ) {
+            final int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            final Glyph glyph = this.getGlyph(codePoint);
+            if (glyph != null) {
+                width += glyph.advance();
+            } else if (this.fallbackGlyph != null) {
+                width += this.fallbackGlyph.advance();
+            }
+        }
+        return width;
+    }
+
+    @Nullable
+    public Glyph getGlyph(final int codePoint) {
+        if (codePoint >= 0 && codePoint < this.latinGlyphs.length) {
+            return this.latinGlyphs[codePoint];
+        } else {
+            return this.glyphs.get(codePoint);
+        }
+    }
+
+    public ImageBuffer getTexture() {
+        return this.texture;
+    }
+
+    public int getAscent() {
+        return this.ascent;
+    }
+
+    public int getDescent() {
+        return this.descent;
+    }
+
+    public int getLineHeight() {
+        return this.lineHeight;
+    }
+
+    private static String createCharacterRange(final int first, final int last) {
+        final StringBuilder characters = new StringBuilder();
+        for (int c = first; c <= last; c++) {
+            characters.append((char) c);
+        }
+        return characters.toString();
+    }
+
+}
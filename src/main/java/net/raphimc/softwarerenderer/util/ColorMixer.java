@@ -20,6 +20,54 @@ package net.raphimc.softwarerenderer.util;
 public class ColorMixer {
 
     public static int mix(final int c1, final int c2) {
+        final int a = multiply(c1 >>> 24, c2 >>> 24);
+        final int r = multiply((c1 >> 16) & 0xFF, (c2 >> 16) & 0xFF);
+        final int g = multiply((c1 >> 8) & 0xFF, (c2 >> 8) & 0xFF);
+        final int b = multiply(c1 & 0xFF, c2 & 0xFF);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    public static void mix(final int[] raster, final int offset, final int length, final int color) {
+        for (int i = offset; i < offset + length; i++) {
+            raster[i] = mix(raster[i], color);
+        }
+    }
+
+    // Colors are premultiplied, so the source is added on top of the destination scaled by the inverse source alpha
+    public static int blend(final int dstColor, final int srcColor) {
+        return srcColor + scale(dstColor, 0xFF - (srcColor >>> 24));
+    }
+
+    public static void blend(final int[] raster, final int offset, final int length, final int srcColor) {
+        final int invSrcAlpha = 0xFF - (srcColor >>> 24);
+        for (int i = offset; i < offset + length; i++) {
+            raster[i] = srcColor + scale(raster[i], invSrcAlpha);
+        }
+    }
+
+    public static void blend(final int[] dstRaster, final int dstOffset, final int[] srcRaster, final int srcOffset, final int length) {
+        for (int i = 0; i < length; i++) {
+            dstRaster[dstOffset + i] = blend(dstRaster[dstOffset + i], srcRaster[srcOffset + i]);
+        }
+    }
+
+    public static int premultiply(final int color) {
+        final int a = color >>> 24;
+        return (color & 0xFF000000) | (multiply((color >> 16) & 0xFF, a) << 16) | (multiply((color >> 8) & 0xFF, a) << 8) | multiply(color & 0xFF, a);
+    }
+
+    public static int unpremultiply(final int color) {
+        final int a = color >>> 24;
+        if (a == 0xFF) {
+            return color;
+        } else if (a == 0) {
+            return 0;
+        }
+        return (color & 0xFF000000) | (divide((color >> 16) & 0xFF, a) << 16) | (divide((color >> 8) & 0xFF, a) << 8) | divide(color & 0xFF, a);
+    }
+
+    public static int lerp(final int c1, final int c2, final float t) {
         final int a1 = (c1 >> 24) & 0xFF;
         final int r1 = (c1 >> 16) & 0xFF;
         final int g1 = (c1 >> 8) & 0xFF;
@@ -29,31 +77,29 @@ public class ColorMixer {
         final int g2 = (c2 >> 8) & 0xFF;
         final int b2 = c2 & 0xFF;
 
-        final int a = (int) (a1 * a2 / 255F);
-        final int r = (int) (r1 * r2 / 255F);
-        final int g = (int) (g1 * g2 / 255F);
-        final int b = (int) (b1 * b2 / 255F);
+        final int a = Math.round(a1 + (a2 - a1) * t);
+        final int r = Math.round(r1 + (r2 - r1) * t);
+        final int g = Math.round(g1 + (g2 - g1) * t);
+        final int b = Math.round(b1 + (b2 - b1) * t);
 
         return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
-    public static int blend(final int dstColor, final int srcColor) {
-        final int dstR = (dstColor >> 16) & 0xFF;
-        final int dstG = (dstColor >> 8) & 0xFF;
-        final int dstB = dstColor & 0xFF;
-        final int srcA = (srcColor >> 24) & 0xFF;
-        final int srcR = (srcColor >> 16) & 0xFF;
-        final int srcG = (srcColor >> 8) & 0xFF;
-        final int srcB = srcColor & 0xFF;
-
-        final float srcAlpha = srcA / 255F;
-        final float invSrcAlpha = 1F - srcAlpha;
-
-        final int outR = (int) (srcR * srcAlpha + dstR * invSrcAlpha);
-        final int outG = (int) (srcG * srcAlpha + dstG * invSrcAlpha);
-        final int outB = (int) (srcB * srcAlpha + dstB * invSrcAlpha);
-
-        return (0xFF << 24) | (outR << 16) | (outG << 8) | outB;
+    // All four channels are scaled in two 16 bit lanes each, which is enough room for a product of two bytes plus rounding
+    public static int scale(final int color, final int factor) {
+        final int rb = (color & 0xFF00FF) * factor + 0x800080;
+        final int ag = ((color >>> 8) & 0xFF00FF) * factor + 0x800080;
+        return ((((ag + ((ag >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF) << 8) | (((rb + ((rb >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF);
+    }
+
+    // Rounded x * 255 / a, clamped for colors that are not properly premultiplied
+    public static int divide(final int x, final int a) {
+        return Math.min(0xFF, (x * 0xFF + a / 2) / a);
+    }
+
+    // Rounded x * y / 255 for two bytes
+    public static int multiply(final int x, final int y) {
+        return ((x * y + 0x80) * 257) >>> 16;
     }
 
 }
@@ -17,18 +17,95 @@
  */
 package net.raphimc.softwarerenderer.util;
 
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.Opacity;
+
+import java.awt.*;
 import java.awt.image.BufferedImage;
 
 public class ImageUtil {
 
-    public static BufferedImage ensureArgb(final BufferedImage image) {
-        if (image.getType() != BufferedImage.TYPE_INT_ARGB && image.getType() != BufferedImage.TYPE_INT_ARGB_PRE) {
-            final BufferedImage newTexture = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-            newTexture.getGraphics().drawImage(image, 0, 0, null);
+    public static final int TILE_SHIFT = 2;
+    public static final int TILE_SIZE = 1 << TILE_SHIFT;
+    public static final int TILE_MASK = TILE_SIZE - 1;
+
+    // Returns the image itself only if it already is TYPE_INT_ARGB_PRE, straight alpha TYPE_INT_ARGB images are copied as well
+    public static BufferedImage ensurePremultipliedArgb(final BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB_PRE) {
+            final BufferedImage newTexture = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+            final Graphics2D graphics = newTexture.createGraphics();
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
             return newTexture;
         } else {
             return image;
         }
     }
 
+    @Deprecated
+    public static BufferedImage ensureArgb(final BufferedImage image) {
+        return ensurePremultipliedArgb(image);
+    }
+
+    public static ImageBuffer downsample(final ImageBuffer image) {
+        final int width = Math.max(1, image.width() >> 1);
+        final int height = Math.max(1, image.height() >> 1);
+        final int[] source = image.raster();
+        final int[] raster = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            final int sourceY1 = Math.min(y * 2, image.height() - 1) * image.width();
+            final int sourceY2 = Math.min(y * 2 + 1, image.height() - 1) * image.width();
+            for (int x = 0; x < width; x++) {
+                final int sourceX1 = Math.min(x * 2, image.width() - 1);
+                final int sourceX2 = Math.min(x * 2 + 1, image.width() - 1);
+                raster[y * width + x] = average(source[sourceY1 + sourceX1], source[sourceY1 + sourceX2], source[sourceY2 + sourceX1], source[sourceY2 + sourceX2]);
+            }
+        }
+        return new ImageBuffer(raster, width, height);
+    }
+
+    public static Opacity getOpacity(final int[] raster, final int length) {
+        Opacity opacity = Opacity.OPAQUE;
+        for (int i = 0; i < length; i++) {
+            final int alpha = raster[i] >>> 24;
+            if (alpha == 0) {
+                opacity = Opacity.BINARY;
+            } else if (alpha != 0xFF) {
+                return Opacity.TRANSLUCENT;
+            }
+        }
+        return opacity;
+    }
+
+    // Texels are stored in 4x4 blocks, so a block fills exactly one 64 byte cache line regardless of the sampling direction
+    public static int[] tile(final ImageBuffer image) {
+        final int tilesX = getTileCount(image.width());
+        final int[] source = image.raster();
+        final int[] raster = new int[tilesX * getTileCount(image.height()) * TILE_SIZE * TILE_SIZE];
+        for (int y = 0; y < image.height(); y++) {
+            for (int x = 0; x < image.width(); x++) {
+                raster[getTiledIndex(x, y, tilesX)] = source[y * image.width() + x];
+            }
+        }
+        return raster;
+    }
+
+    public static int getTiledIndex(final int x, final int y, final int tilesX) {
+        return (((y >> TILE_SHIFT) * tilesX + (x >> TILE_SHIFT)) << (TILE_SHIFT * 2)) | ((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK);
+    }
+
+    public static int getTileCount(final int size) {
+        return (size + TILE_MASK) >> TILE_SHIFT;
+    }
+
+    // Averaging premultiplied colors weights them by their alpha, so fully transparent texels don't bleed into their neighbours
+    private static int average(final int c1, final int c2, final int c3, final int c4) {
+        final int a = ((c1 >>> 24) + (c2 >>> 24) + (c3 >>> 24) + (c4 >>> 24) + 2) / 4;
+        final int r = (((c1 >> 16) & 0xFF) + ((c2 >> 16) & 0xFF) + ((c3 >> 16) & 0xFF) + ((c4 >> 16) & 0xFF) + 2) / 4;
+        final int g = (((c1 >> 8) & 0xFF) + ((c2 >> 8) & 0xFF) + ((c3 >> 8) & 0xFF) + ((c4 >> 8) & 0xFF) + 2) / 4;
+        final int b = ((c1 & 0xFF) + (c2 & 0xFF) + (c3 & 0xFF) + (c4 & 0xFF) + 2) / 4;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
 }
@@ -18,6 +18,7 @@
 package net.raphimc.softwarerenderer.util;
 
 import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.PrimitiveType;
 import net.raphimc.softwarerenderer.primitives.Quad;
 import net.raphimc.softwarerenderer.primitives.Triangle;
 import net.raphimc.softwarerenderer.vertex.Vertex;
@@ -57,4 +58,24 @@ public class PrimitiveAssembler {
         return quads;
     }
 
+    public static List<Triangle> assembleTriangleStrip(final List<Vertex> vertices, @Nullable final ImageBuffer textureBuffer) {
+        return assembleTriangles(vertices, PrimitiveType.TRIANGLE_STRIP, textureBuffer);
+    }
+
+    public static List<Triangle> assembleTriangleFan(final List<Vertex> vertices, @Nullable final ImageBuffer textureBuffer) {
+        return assembleTriangles(vertices, PrimitiveType.TRIANGLE_FAN, textureBuffer);
+    }
+
+    private static List<Triangle> assembleTriangles(final List<Vertex> vertices, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        final int primitiveCount = primitiveType.getPrimitiveCount(vertices.size());
+        final List<Triangle> triangles = new ArrayList<>(primitiveCount);
+        for (int i = 0; i < primitiveCount; i++) {
+            final Vertex v1 = vertices.get(primitiveType.getElement(i, 0));
+            final Vertex v2 = vertices.get(primitiveType.getElement(i, 1));
+            final Vertex v3 = vertices.get(primitiveType.getElement(i, 2));
+            triangles.add(new Triangle(v1, v2, v3, textureBuffer));
+        }
+        return triangles;
+    }
+
 }
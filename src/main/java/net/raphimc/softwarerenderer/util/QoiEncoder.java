@@ -0,0 +1,114 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class QoiEncoder {
+
+    private static final int OP_INDEX = 0x00;
+    private static final int OP_DIFF = 0x40;
+    private static final int OP_LUMA = 0x80;
+    private static final int OP_RUN = 0xC0;
+    private static final int OP_RGB = 0xFE;
+    private static final int OP_RGBA = 0xFF;
+    private static final int MAX_RUN = 62;
+
+    // Encodes straight alpha ARGB pixels, see https://qoiformat.org/qoi-specification.pdf
+    public static void encode(final int[] raster, final int width, final int height, final OutputStream outputStream) throws IOException {
+        final byte[] buffer = new byte[14 + width * height * 5 + 8];
+        int position = 0;
+        buffer[position++] = 'q';
+        buffer[position++] = 'o';
+        buffer[position++] = 'i';
+        buffer[position++] = 'f';
+        position = putInt(buffer, position, width);
+        position = putInt(buffer, position, height);
+        buffer[position++] = 4;
+        buffer[position++] = 0;
+
+        final int[] index = new int[64];
+        int previous = 0xFF000000;
+        int run = 0;
+        final int pixelCount = width * height;
+        for (int i = 0; i < pixelCount; i++) {
+            final int pixel = raster[i];
+            if (pixel == previous) {
+                run++;
+                if (run == MAX_RUN || i == pixelCount - 1) {
+                    buffer[position++] = (byte) (OP_RUN | (run - 1));
+                    run = 0;
+                }
+                continue;
+            }
+            if (run > 0) {
+                buffer[position++] = (byte) (OP_RUN | (run - 1));
+                run = 0;
+            }
+
+            final int a = pixel >>> 24;
+            final int r = (pixel >> 16) & 0xFF;
+            final int g = (pixel >> 8) & 0xFF;
+            final int b = pixel & 0xFF;
+            final int hash = (r * 3 + g * 5 + b * 7 + a * 11) & 63;
+            if (index[hash] == pixel) {
+                buffer[position++] = (byte) (OP_INDEX | hash);
+            } else {
+                index[hash] = pixel;
+                if (a == previous >>> 24) {
+                    final int dr = (byte) (r - ((previous >> 16) & 0xFF));
+                    final int dg = (byte) (g - ((previous >> 8) & 0xFF));
+                    final int db = (byte) (b - (previous & 0xFF));
+                    final int drg = dr - dg;
+                    final int dbg = db - dg;
+                    if (dr >= -2 && dr <= 1 && dg >= -2 && dg <= 1 && db >= -2 && db <= 1) {
+                        buffer[position++] = (byte) (OP_DIFF | (dr + 2) << 4 | (dg + 2) << 2 | (db + 2));
+                    } else if (dg >= -32 && dg <= 31 && drg >= -8 && drg <= 7 && dbg >= -8 && dbg <= 7) {
+                        buffer[position++] = (byte) (OP_LUMA | (dg + 32));
+                        buffer[position++] = (byte) ((drg + 8) << 4 | (dbg + 8));
+                    } else {
+                        buffer[position++] = (byte) OP_RGB;
+                        buffer[position++] = (byte) r;
+                        buffer[position++] = (byte) g;
+                        buffer[position++] = (byte) b;
+                    }
+                } else {
+                    buffer[position++] = (byte) OP_RGBA;
+                    buffer[position++] = (byte) r;
+                    buffer[position++] = (byte) g;
+                    buffer[position++] = (byte) b;
+                    buffer[position++] = (byte) a;
+                }
+            }
+            previous = pixel;
+        }
+        position += 7;
+        buffer[position++] = 1;
+        outputStream.write(buffer, 0, position);
+    }
+
+    private static int putInt(final byte[] buffer, final int position, final int value) {
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+        return position + 4;
+    }
+
+}
@@ -26,10 +26,21 @@ public record FloatVertex(float x, float y, float z, int c, float u, float v) im
         this(x, y, z, c, 0, 0);
     }
 
+    @Override
+    public boolean isOpaque() {
+        return this.c >>> 24 == 0xFF;
+    }
+
     @Override
     public RasterVertex project(final Matrix4f matrix) {
         final Vector4f vec4f = new Vector4f(this.x, this.y, this.z, 1F).mul(matrix);
         return new RasterVertex(vec4f.x / vec4f.w, vec4f.y / vec4f.w, vec4f.z / vec4f.w, vec4f.w, this.c, this.u, this.v);
     }
 
+    @Override
+    public RasterVertex transform(final Matrix4f matrix) {
+        final Vector4f vec4f = new Vector4f(this.x, this.y, this.z, 1F).mul(matrix);
+        return new RasterVertex(vec4f.x, vec4f.y, vec4f.z, vec4f.w, this.c, this.u, this.v);
+    }
+
 }
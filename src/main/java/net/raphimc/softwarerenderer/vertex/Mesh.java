@@ -0,0 +1,106 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.vertex;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.PrimitiveType;
+import net.raphimc.softwarerenderer.primitives.Primitive;
+import net.raphimc.softwarerenderer.primitives.Quad;
+import net.raphimc.softwarerenderer.primitives.Triangle;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Mesh {
+
+    private final List<MeshPart> parts;
+
+    private Mesh(final List<MeshPart> parts) {
+        this.parts = Collections.unmodifiableList(parts);
+    }
+
+    public static Mesh compile(final List<? extends Primitive> primitives) {
+        final Matrix4f identityMatrix = new Matrix4f();
+        final List<MeshPart> parts = new ArrayList<>();
+        final Map<Vertex, Integer> vertexIndices = new IdentityHashMap<>();
+        VertexBuffer vertexBuffer = null;
+        PrimitiveType primitiveType = null;
+        ImageBuffer textureBuffer = null;
+        for (final Primitive primitive : primitives) {
+            final PrimitiveType type;
+            final Vertex[] vertices;
+            if (primitive instanceof Triangle triangle) {
+                type = PrimitiveType.TRIANGLES;
+                vertices = new Vertex[]{triangle.v1(), triangle.v2(), triangle.v3()};
+            } else if (primitive instanceof Quad quad) {
+                type = PrimitiveType.QUADS;
+                vertices = new Vertex[]{quad.v1(), quad.v2(), quad.v3(), quad.v4()};
+            } else {
+                throw new IllegalArgumentException("Unsupported primitive: " + primitive.getClass().getName());
+            }
+
+            // Consecutive primitives sharing a type and texture are merged to keep the draw order intact
+            if (vertexBuffer == null || type != primitiveType || primitive.textureBuffer() != textureBuffer) {
+                if (vertexBuffer != null) {
+                    parts.add(new MeshPart(vertexBuffer, primitiveType, textureBuffer));
+                }
+                vertexBuffer = new VertexBuffer();
+                primitiveType = type;
+                textureBuffer = primitive.textureBuffer();
+                vertexIndices.clear();
+            }
+            for (final Vertex vertex : vertices) {
+                Integer index = vertexIndices.get(vertex);
+                if (index == null) {
+                    final RasterVertex rasterVertex = vertex.transform(identityMatrix);
+                    index = vertexBuffer.getSize();
+                    vertexBuffer.vertex(rasterVertex.x(), rasterVertex.y(), rasterVertex.z(), rasterVertex.c(), rasterVertex.u(), rasterVertex.v());
+                    vertexIndices.put(vertex, index);
+                }
+                vertexBuffer.index(index);
+            }
+        }
+        if (vertexBuffer != null) {
+            parts.add(new MeshPart(vertexBuffer, primitiveType, textureBuffer));
+        }
+        return new Mesh(parts);
+    }
+
+    public void invalidate() {
+        for (final MeshPart part : this.parts) {
+            part.invalidate();
+        }
+    }
+
+    public List<MeshPart> getParts() {
+        return this.parts;
+    }
+
+    public int getPrimitiveCount() {
+        int primitiveCount = 0;
+        for (final MeshPart part : this.parts) {
+            primitiveCount += part.getPrimitiveCount();
+        }
+        return primitiveCount;
+    }
+
+}
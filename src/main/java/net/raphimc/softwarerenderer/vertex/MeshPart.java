@@ -0,0 +1,113 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.vertex;
+
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.CullFace;
+import net.raphimc.softwarerenderer.enums.PrimitiveType;
+import net.raphimc.softwarerenderer.rasterizer.Clipper;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+public class MeshPart {
+
+    private final VertexBuffer vertexBuffer;
+    private final PrimitiveType primitiveType;
+    private final ImageBuffer textureBuffer;
+    private final int[] visiblePrimitives;
+    private final Matrix4f projectionMatrix = new Matrix4f();
+    private float[] projectedVertices = new float[0];
+    private int[] outcodes = new int[0];
+    private boolean projectionValid;
+    private int projectionWidth;
+    private int projectionHeight;
+    private float projectionNearW;
+    private CullFace visibilityCullFace;
+    private int visiblePrimitiveCount;
+
+    public MeshPart(final VertexBuffer vertexBuffer, final PrimitiveType primitiveType, @Nullable final ImageBuffer textureBuffer) {
+        this.vertexBuffer = vertexBuffer;
+        this.primitiveType = primitiveType;
+        this.textureBuffer = textureBuffer;
+        this.visiblePrimitives = new int[primitiveType.getPrimitiveCount(vertexBuffer.getElementCount())];
+    }
+
+    // Keyed on the clipper settings instead of the clipper itself, so renderers of the same size can share the projection
+    public boolean isProjectionValid(final Matrix4f matrix, final Clipper clipper) {
+        return this.projectionValid && this.projectionWidth == clipper.getWidth() && this.projectionHeight == clipper.getHeight() && this.projectionNearW == clipper.getNearW() && this.projectionMatrix.equals(matrix);
+    }
+
+    public void setProjection(final Matrix4f matrix, final Clipper clipper, final float[] projectedVertices, final int[] outcodes) {
+        this.projectionMatrix.set(matrix);
+        this.projectionValid = true;
+        this.projectionWidth = clipper.getWidth();
+        this.projectionHeight = clipper.getHeight();
+        this.projectionNearW = clipper.getNearW();
+        this.projectedVertices = projectedVertices;
+        this.outcodes = outcodes;
+        this.visibilityCullFace = null;
+    }
+
+    public boolean isVisibilityValid(final CullFace cullFace) {
+        return this.visibilityCullFace == cullFace;
+    }
+
+    public void setVisibility(final CullFace cullFace, final int visiblePrimitiveCount) {
+        this.visibilityCullFace = cullFace;
+        this.visiblePrimitiveCount = visiblePrimitiveCount;
+    }
+
+    public void invalidate() {
+        this.projectionValid = false;
+        this.visibilityCullFace = null;
+    }
+
+    public VertexBuffer getVertexBuffer() {
+        return this.vertexBuffer;
+    }
+
+    public PrimitiveType getPrimitiveType() {
+        return this.primitiveType;
+    }
+
+    @Nullable
+    public ImageBuffer getTextureBuffer() {
+        return this.textureBuffer;
+    }
+
+    public int getPrimitiveCount() {
+        return this.visiblePrimitives.length;
+    }
+
+    public float[] getProjectedVertices() {
+        return this.projectedVertices;
+    }
+
+    public int[] getOutcodes() {
+        return this.outcodes;
+    }
+
+    public int[] getVisiblePrimitives() {
+        return this.visiblePrimitives;
+    }
+
+    public int getVisiblePrimitiveCount() {
+        return this.visiblePrimitiveCount;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.vertex;
+
+import java.util.Arrays;
+
+public class SpriteBatch {
+
+    public static final int STRIDE = 8;
+
+    private float[] data;
+    private int[] colors;
+    private int size;
+
+    public SpriteBatch() {
+        this(256);
+    }
+
+    public SpriteBatch(final int capacity) {
+        this.data = new float[capacity * STRIDE];
+        this.colors = new int[capacity];
+    }
+
+    public SpriteBatch sprite(final float x, final float y, final float width, final float height, final int c) {
+        return this.sprite(x, y, width, height, 0F, 0F, 1F, 1F, c);
+    }
+
+    public SpriteBatch sprite(final float x, final float y, final float width, final float height, final float u0, final float v0, final float u1, final float v1, final int c) {
+        this.ensureCapacity(this.size + 1);
+        final int dataIndex = this.size * STRIDE;
+        this.data[dataIndex] = x;
+        this.data[dataIndex + 1] = y;
+        this.data[dataIndex + 2] = width;
+        this.data[dataIndex + 3] = height;
+        this.data[dataIndex + 4] = u0;
+        this.data[dataIndex + 5] = v0;
+        this.data[dataIndex + 6] = u1;
+        this.data[dataIndex + 7] = v1;
+        this.colors[this.size] = c;
+        this.size++;
+        return this;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    public void ensureCapacity(final int capacity) {
+        if (capacity > this.colors.length) {
+            final int newCapacity = Math.max(capacity, this.colors.length * 2);
+            this.data = Arrays.copyOf(this.data, newCapacity * STRIDE);
+            this.colors = Arrays.copyOf(this.colors, newCapacity);
+        }
+    }
+
+    public VertexBuffer toVertexBuffer(final VertexBuffer target) {
+        target.clear();
+        target.ensureCapacity(this.size * 4);
+        for (int i = 0; i < this.size; i++) {
+            final int dataIndex = i * STRIDE;
+            final float x = this.data[dataIndex];
+            final float y = this.data[dataIndex + 1];
+            final float width = this.data[dataIndex + 2];
+            final float height = this.data[dataIndex + 3];
+            final float u0 = this.data[dataIndex + 4];
+            final float v0 = this.data[dataIndex + 5];
+            final float u1 = this.data[dataIndex + 6];
+            final float v1 = this.data[dataIndex + 7];
+            final int c = this.colors[i];
+            target.vertex(x, y, 0F, c, u0, v0);
+            target.vertex(x + width, y, 0F, c, u1, v0);
+            target.vertex(x + width, y + height, 0F, c, u1, v1);
+            target.vertex(x, y + height, 0F, c, u0, v1);
+        }
+        return target;
+    }
+
+    public float[] getData() {
+        return this.data;
+    }
+
+    public int[] getColors() {
+        return this.colors;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+}
@@ -23,4 +23,15 @@ public interface Vertex {
 
     RasterVertex project(final Matrix4f matrix);
 
+    // Vertices that can not tell their color are treated as translucent
+    default boolean isOpaque() {
+        return false;
+    }
+
+    // Implementations that only project keep working, the clip space position is recovered by undoing the perspective divide
+    default RasterVertex transform(final Matrix4f matrix) {
+        final RasterVertex projected = this.project(matrix);
+        return new RasterVertex(projected.x() * projected.w(), projected.y() * projected.w(), projected.z() * projected.w(), projected.w(), projected.c(), projected.u(), projected.v());
+    }
+
 }
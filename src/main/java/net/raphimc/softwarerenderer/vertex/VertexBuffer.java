@@ -0,0 +1,164 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.vertex;
+
+import org.joml.Matrix4f;
+
+import java.util.Arrays;
+
+public class VertexBuffer {
+
+    public static final int POSITION_STRIDE = 3;
+    public static final int TEX_COORD_STRIDE = 2;
+    public static final int PROJECTED_STRIDE = 4;
+
+    private float[] positions;
+    private int[] colors;
+    private float[] texCoords;
+    private int size;
+    private int[] indices;
+    private int indexCount;
+
+    public VertexBuffer() {
+        this(64);
+    }
+
+    public VertexBuffer(final int capacity) {
+        this.positions = new float[capacity * POSITION_STRIDE];
+        this.colors = new int[capacity];
+        this.texCoords = new float[capacity * TEX_COORD_STRIDE];
+        this.indices = new int[0];
+    }
+
+    public VertexBuffer vertex(final float x, final float y, final float z, final int c) {
+        return this.vertex(x, y, z, c, 0F, 0F);
+    }
+
+    public VertexBuffer vertex(final float x, final float y, final float z, final int c, final float u, final float v) {
+        this.ensureCapacity(this.size + 1);
+        final int positionIndex = this.size * POSITION_STRIDE;
+        this.positions[positionIndex] = x;
+        this.positions[positionIndex + 1] = y;
+        this.positions[positionIndex + 2] = z;
+        this.colors[this.size] = c;
+        final int texCoordIndex = this.size * TEX_COORD_STRIDE;
+        this.texCoords[texCoordIndex] = u;
+        this.texCoords[texCoordIndex + 1] = v;
+        this.size++;
+        return this;
+    }
+
+    public VertexBuffer index(final int index) {
+        if (this.indexCount == this.indices.length) {
+            this.indices = Arrays.copyOf(this.indices, Math.max(16, this.indices.length * 2));
+        }
+        this.indices[this.indexCount++] = index;
+        return this;
+    }
+
+    public VertexBuffer index(final int i1, final int i2, final int i3) {
+        return this.index(i1).index(i2).index(i3);
+    }
+
+    public VertexBuffer index(final int i1, final int i2, final int i3, final int i4) {
+        return this.index(i1).index(i2).index(i3).index(i4);
+    }
+
+    public void clear() {
+        this.size = 0;
+        this.indexCount = 0;
+    }
+
+    public void ensureCapacity(final int capacity) {
+        if (capacity > this.colors.length) {
+            final int newCapacity = Math.max(capacity, this.colors.length * 2);
+            this.positions = Arrays.copyOf(this.positions, newCapacity * POSITION_STRIDE);
+            this.colors = Arrays.copyOf(this.colors, newCapacity);
+            this.texCoords = Arrays.copyOf(this.texCoords, newCapacity * TEX_COORD_STRIDE);
+        }
+    }
+
+    public float[] project(final Matrix4f matrix, float[] target) {
+        if (target.length < this.size * PROJECTED_STRIDE) {
+            target = new float[Math.max(this.size, this.colors.length) * PROJECTED_STRIDE];
+        }
+        final float m00 = matrix.m00(), m01 = matrix.m01(), m02 = matrix.m02(), m03 = matrix.m03();
+        final float m10 = matrix.m10(), m11 = matrix.m11(), m12 = matrix.m12(), m13 = matrix.m13();
+        final float m20 = matrix.m20(), m21 = matrix.m21(), m22 = matrix.m22(), m23 = matrix.m23();
+        final float m30 = matrix.m30(), m31 = matrix.m31(), m32 = matrix.m32(), m33 = matrix.m33();
+        for (int i = 0; i < this.size; i++) {
+            final int positionIndex = i * POSITION_STRIDE;
+            final float x = this.positions[positionIndex];
+            final float y = this.positions[positionIndex + 1];
+            final float z = this.positions[positionIndex + 2];
+            final float w = m03 * x + m13 * y + m23 * z + m33;
+            final int projectedIndex = i * PROJECTED_STRIDE;
+            target[projectedIndex] = (m00 * x + m10 * y + m20 * z + m30) / w;
+            target[projectedIndex + 1] = (m01 * x + m11 * y + m21 * z + m31) / w;
+            target[projectedIndex + 2] = (m02 * x + m12 * y + m22 * z + m32) / w;
+            target[projectedIndex + 3] = w;
+        }
+        return target;
+    }
+
+    public boolean hasOpaqueColors() {
+        for (int i = 0; i < this.size; i++) {
+            if (this.colors[i] >>> 24 != 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public float[] getPositions() {
+        return this.positions;
+    }
+
+    public int[] getColors() {
+        return this.colors;
+    }
+
+    public float[] getTexCoords() {
+        return this.texCoords;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int[] getIndices() {
+        return this.indices;
+    }
+
+    public int getIndexCount() {
+        return this.indexCount;
+    }
+
+    public boolean isIndexed() {
+        return this.indexCount > 0;
+    }
+
+    public int getElementCount() {
+        return this.isIndexed() ? this.indexCount : this.size;
+    }
+
+    public int getVertexIndex(final int element) {
+        return this.isIndexed() ? this.indices[element] : element;
+    }
+
+}
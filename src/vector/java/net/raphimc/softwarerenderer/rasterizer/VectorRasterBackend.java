@@ -0,0 +1,251 @@
+/*
+ * This file is part of SoftwareRenderer - https://github.com/RaphiMC/SoftwareRenderer
+ * Copyright (C) 2024-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.softwarerenderer.rasterizer;
+
+import jdk.incubator.vector.*;
+import net.raphimc.softwarerenderer.data.ImageBuffer;
+import net.raphimc.softwarerenderer.enums.WrapMode;
+import net.raphimc.softwarerenderer.util.ImageUtil;
+import org.jetbrains.annotations.Nullable;
+
+public class VectorRasterBackend implements RasterBackend {
+
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES = VectorSpecies.of(float.class, INT_SPECIES.vectorShape());
+    private static final int LANES = INT_SPECIES.length();
+    private static final ThreadLocal<int[]> GATHER_INDICES = ThreadLocal.withInitial(() -> new int[LANES]);
+
+    @Override
+    public void rasterize(final TriangleSetup setup, final ImageBuffer colorBuffer, final float @Nullable [] depthBuffer) {
+        if (!setup.intEdges || (setup.textureRaster != null && setup.textureWrapMode != WrapMode.CLAMP && !setup.texturePowerOfTwo)) {
+            RasterBackends.SCALAR.rasterize(setup, colorBuffer, depthBuffer);
+            return;
+        }
+
+        final int rasterWidth = colorBuffer.width();
+        final int[] colorRaster = colorBuffer.raster();
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final IntVector laneSteps1 = IntVector.zero(INT_SPECIES).addIndex(1).mul((int) setup.stepX1);
+        final IntVector laneSteps2 = IntVector.zero(INT_SPECIES).addIndex(1).mul((int) setup.stepX2);
+        final IntVector laneSteps3 = IntVector.zero(INT_SPECIES).addIndex(1).mul((int) setup.stepX3);
+        final int chunkStep1 = (int) setup.stepX1 * LANES;
+        final int chunkStep2 = (int) setup.stepX2 * LANES;
+        final int chunkStep3 = (int) setup.stepX3 * LANES;
+        final FloatVector laneOffsets = FloatVector.zero(FLOAT_SPECIES).addIndex(1);
+        final int[] textureRaster = setup.textureRaster;
+        final int[] gatherIndices = textureRaster != null ? GATHER_INDICES.get() : null;
+        int rowEdge1 = (int) setup.edge1;
+        int rowEdge2 = (int) setup.edge2;
+        int rowEdge3 = (int) setup.edge3;
+        int testedSamples = 0;
+        int rejectedSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            int edge1 = rowEdge1;
+            int edge2 = rowEdge2;
+            int edge3 = rowEdge3;
+            rowEdge1 += (int) setup.stepY1;
+            rowEdge2 += (int) setup.stepY2;
+            rowEdge3 += (int) setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final float rowA = setup.a0 + setup.dady * (y - setup.originY);
+            final float rowR = setup.r0 + setup.drdy * (y - setup.originY);
+            final float rowG = setup.g0 + setup.dgdy * (y - setup.originY);
+            final float rowB = setup.b0 + setup.dbdy * (y - setup.originY);
+            final float rowW = setup.w0 + setup.dwdy * (y - setup.originY);
+            final float rowU = setup.u0 + setup.dudy * (y - setup.originY);
+            final float rowV = setup.v0 + setup.dvdy * (y - setup.originY);
+            final int rowIndex = y * rasterWidth;
+
+            for (int x = minX; x <= maxX; x += LANES, edge1 += chunkStep1, edge2 += chunkStep2, edge3 += chunkStep3) {
+                final IntVector edges = laneSteps1.add(edge1).or(laneSteps2.add(edge2)).or(laneSteps3.add(edge3));
+                VectorMask<Integer> mask = edges.compare(VectorOperators.GE, 0).and(INT_SPECIES.indexInRange(x, maxX + 1));
+                if (!mask.anyTrue()) {
+                    continue;
+                }
+                final int coveredSamples = mask.trueCount();
+                testedSamples += coveredSamples;
+                final int rasterIndex = rowIndex + x;
+                final FloatVector xs = laneOffsets.add(x - originX);
+
+                if (depthBuffer != null) {
+                    final VectorMask<Float> depthMask = mask.cast(FLOAT_SPECIES);
+                    final FloatVector z = xs.mul(setup.dzdx).add(rowZ).max(setup.zMin).min(setup.zMax);
+                    final FloatVector depth = FloatVector.fromArray(FLOAT_SPECIES, depthBuffer, rasterIndex, depthMask);
+                    final VectorMask<Float> depthPass = depthMask.andNot(z.compare(VectorOperators.GE, depth));
+                    rejectedSamples += coveredSamples - depthPass.trueCount();
+                    if (!depthPass.anyTrue()) {
+                        continue;
+                    }
+                    z.intoArray(depthBuffer, rasterIndex, depthPass);
+                    mask = depthPass.cast(INT_SPECIES);
+                }
+
+                IntVector color;
+                if (textureRaster != null && !setup.textureModulated) {
+                    color = null;
+                } else if (setup.flatShaded) {
+                    color = IntVector.broadcast(INT_SPECIES, setup.flatColor);
+                } else {
+                    final IntVector a = toInt(xs.mul(setup.dadx).add(rowA));
+                    final IntVector r = toInt(xs.mul(setup.drdx).add(rowR));
+                    final IntVector g = toInt(xs.mul(setup.dgdx).add(rowG));
+                    final IntVector b = toInt(xs.mul(setup.dbdx).add(rowB));
+                    color = a.lanewise(VectorOperators.LSHL, 24).or(r.lanewise(VectorOperators.LSHL, 16)).or(g.lanewise(VectorOperators.LSHL, 8)).or(b);
+                }
+
+                if (textureRaster != null) {
+                    final FloatVector w = FloatVector.broadcast(FLOAT_SPECIES, 1F).div(xs.mul(setup.dwdx).add(rowW));
+                    final FloatVector u = xs.mul(setup.dudx).add(rowU).mul(w);
+                    final FloatVector v = xs.mul(setup.dvdx).add(rowV).mul(w);
+
+                    getTexelIndices(setup, u, v).intoArray(gatherIndices, 0);
+                    final IntVector texColor = IntVector.fromArray(INT_SPECIES, textureRaster, 0, gatherIndices, 0, mask);
+                    color = color != null ? mix(color, texColor) : texColor;
+                }
+
+                if (setup.opaque) {
+                    color.intoArray(colorRaster, rasterIndex, mask);
+                    continue;
+                }
+                mask = mask.and(color.and(0xFF000000).compare(VectorOperators.NE, 0));
+                if (!mask.anyTrue()) {
+                    continue;
+                }
+                if (setup.alphaTested) {
+                    color.intoArray(colorRaster, rasterIndex, mask);
+                } else {
+                    blend(IntVector.fromArray(INT_SPECIES, colorRaster, rasterIndex, mask), color).intoArray(colorRaster, rasterIndex, mask);
+                }
+            }
+        }
+        setup.testedSamples += testedSamples;
+        setup.rejectedSamples += rejectedSamples;
+    }
+
+    @Override
+    public int countVisibleSamples(final TriangleSetup setup, final int width, final float @Nullable [] depthBuffer) {
+        if (!setup.intEdges) {
+            return RasterBackends.SCALAR.countVisibleSamples(setup, width, depthBuffer);
+        }
+
+        final int minX = setup.minX;
+        final int maxX = setup.maxX;
+        final int originX = setup.originX;
+        final IntVector laneSteps1 = IntVector.zero(INT_SPECIES).addIndex(1).mul((int) setup.stepX1);
+        final IntVector laneSteps2 = IntVector.zero(INT_SPECIES).addIndex(1).mul((int) setup.stepX2);
+        final IntVector laneSteps3 = IntVector.zero(INT_SPECIES).addIndex(1).mul((int) setup.stepX3);
+        final int chunkStep1 = (int) setup.stepX1 * LANES;
+        final int chunkStep2 = (int) setup.stepX2 * LANES;
+        final int chunkStep3 = (int) setup.stepX3 * LANES;
+        final FloatVector laneOffsets = FloatVector.zero(FLOAT_SPECIES).addIndex(1);
+        int rowEdge1 = (int) setup.edge1;
+        int rowEdge2 = (int) setup.edge2;
+        int rowEdge3 = (int) setup.edge3;
+        int visibleSamples = 0;
+
+        for (int y = setup.minY; y <= setup.maxY; y++) {
+            int edge1 = rowEdge1;
+            int edge2 = rowEdge2;
+            int edge3 = rowEdge3;
+            rowEdge1 += (int) setup.stepY1;
+            rowEdge2 += (int) setup.stepY2;
+            rowEdge3 += (int) setup.stepY3;
+
+            final float rowZ = setup.z0 + setup.dzdy * (y - setup.originY);
+            final int rowIndex = y * width;
+
+            for (int x = minX; x <= maxX; x += LANES, edge1 += chunkStep1, edge2 += chunkStep2, edge3 += chunkStep3) {
+                final IntVector edges = laneSteps1.add(edge1).or(laneSteps2.add(edge2)).or(laneSteps3.add(edge3));
+                final VectorMask<Integer> mask = edges.compare(VectorOperators.GE, 0).and(INT_SPECIES.indexInRange(x, maxX + 1));
+                if (depthBuffer != null) {
+                    final VectorMask<Float> depthMask = mask.cast(FLOAT_SPECIES);
+                    final FloatVector z = laneOffsets.add(x - originX).mul(setup.dzdx).add(rowZ).max(setup.zMin).min(setup.zMax);
+                    final FloatVector depth = FloatVector.fromArray(FLOAT_SPECIES, depthBuffer, rowIndex + x, depthMask);
+                    visibleSamples += depthMask.andNot(z.compare(VectorOperators.GE, depth)).trueCount();
+                } else {
+                    visibleSamples += mask.trueCount();
+                }
+            }
+        }
+        return visibleSamples;
+    }
+
+    private static IntVector getTexelIndices(final TriangleSetup setup, final FloatVector u, final FloatVector v) {
+        final IntVector texX = wrap(u, setup.textureWidth, setup.textureWrapMode);
+        final IntVector texY = wrap(v, setup.textureHeight, setup.textureWrapMode);
+        if (setup.textureTiled) {
+            final IntVector tiles = texY.lanewise(VectorOperators.ASHR, ImageUtil.TILE_SHIFT).mul(setup.textureTilesX).add(texX.lanewise(VectorOperators.ASHR, ImageUtil.TILE_SHIFT));
+            return tiles.lanewise(VectorOperators.LSHL, ImageUtil.TILE_SHIFT * 2).or(texY.and(ImageUtil.TILE_MASK).lanewise(VectorOperators.LSHL, ImageUtil.TILE_SHIFT)).or(texX.and(ImageUtil.TILE_MASK));
+        }
+        return texY.mul(setup.textureWidth).add(texX);
+    }
+
+    private static IntVector wrap(final FloatVector coordinate, final int size, final WrapMode wrapMode) {
+        return switch (wrapMode) {
+            case CLAMP -> toInt(coordinate.max(0F).min(size - 1));
+            case REPEAT -> floor(coordinate).and(size - 1);
+            case MIRROR -> {
+                final IntVector mirrored = floor(coordinate).and(size * 2 - 1);
+                yield mirrored.blend(mirrored.lanewise(VectorOperators.XOR, size * 2 - 1), mirrored.compare(VectorOperators.GE, size));
+            }
+        };
+    }
+
+    private static IntVector floor(final FloatVector vector) {
+        final IntVector truncated = toInt(vector);
+        return truncated.sub(1, vector.compare(VectorOperators.LT, toFloat(truncated)).cast(INT_SPECIES));
+    }
+
+    private static IntVector mix(final IntVector c1, final IntVector c2) {
+        final IntVector a = mixChannel(c1, c2, 24);
+        final IntVector r = mixChannel(c1, c2, 16);
+        final IntVector g = mixChannel(c1, c2, 8);
+        final IntVector b = mixChannel(c1, c2, 0);
+        return a.lanewise(VectorOperators.LSHL, 24).or(r.lanewise(VectorOperators.LSHL, 16)).or(g.lanewise(VectorOperators.LSHL, 8)).or(b);
+    }
+
+    private static IntVector mixChannel(final IntVector c1, final IntVector c2, final int shift) {
+        return channel(c1, shift).mul(channel(c2, shift)).add(0x80).mul(257).lanewise(VectorOperators.LSHR, 16);
+    }
+
+    private static IntVector blend(final IntVector dstColor, final IntVector srcColor) {
+        final IntVector invSrcAlpha = srcColor.lanewise(VectorOperators.LSHR, 24).lanewise(VectorOperators.XOR, 0xFF);
+        final IntVector rb = dstColor.and(0xFF00FF).mul(invSrcAlpha).add(0x800080);
+        final IntVector ag = dstColor.lanewise(VectorOperators.LSHR, 8).and(0xFF00FF).mul(invSrcAlpha).add(0x800080);
+        final IntVector outRB = rb.add(rb.lanewise(VectorOperators.LSHR, 8).and(0xFF00FF)).lanewise(VectorOperators.LSHR, 8).and(0xFF00FF);
+        final IntVector outAG = ag.add(ag.lanewise(VectorOperators.LSHR, 8).and(0xFF00FF)).lanewise(VectorOperators.LSHR, 8).and(0xFF00FF);
+        return srcColor.add(outAG.lanewise(VectorOperators.LSHL, 8).or(outRB));
+    }
+
+    private static IntVector channel(final IntVector color, final int shift) {
+        return color.lanewise(VectorOperators.LSHR, shift).and(0xFF);
+    }
+
+    private static FloatVector toFloat(final IntVector vector) {
+        return (FloatVector) vector.convert(VectorOperators.I2F, 0);
+    }
+
+    private static IntVector toInt(final FloatVector vector) {
+        return (IntVector) vector.convert(VectorOperators.F2I, 0);
+    }
+
+}